@@ -0,0 +1,193 @@
+package example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Set of known violations, stored as 64-bit fingerprints of class name, rule
+ * id, target, name and message template. On disk the fingerprints are a
+ * sorted array of longs; in memory they live in an open-addressing hash set
+ * so a lookup is a hash and usually one probe, with no allocation.
+ */
+public final class Baseline {
+
+	private static final int MAGIC = 0x4C4E5442; // "LNTB"
+	// Version 2 added the class name to the fingerprint.
+	private static final int VERSION = 2;
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final long[] table;
+	private final int mask;
+	private final boolean containsZero;
+	private final int size;
+
+	private Baseline(long[] fingerprints) {
+		int capacity = Integer.highestOneBit(Math.max(4, fingerprints.length * 2 - 1)) << 1;
+		this.table = new long[capacity];
+		this.mask = capacity - 1;
+		boolean zero = false;
+		int count = 0;
+		for (long fingerprint : fingerprints) {
+			if (fingerprint == 0) {
+				count += zero ? 0 : 1;
+				zero = true;
+			} else if (insert(fingerprint)) {
+				count++;
+			}
+		}
+		this.containsZero = zero;
+		this.size = count;
+	}
+
+	public static Baseline of(long[] fingerprints) {
+		return new Baseline(fingerprints == null ? new long[0] : fingerprints);
+	}
+
+	public static Baseline load(Path file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Not a lint baseline file: " + file);
+			}
+			int version = in.readInt();
+			if (version != VERSION) {
+				throw new IOException("Unsupported baseline version " + version + " in " + file
+						+ "; regenerate it with --write-baseline");
+			}
+			long[] fingerprints = new long[in.readInt()];
+			for (int i = 0; i < fingerprints.length; i++) {
+				fingerprints[i] = in.readLong();
+			}
+			return new Baseline(fingerprints);
+		}
+	}
+
+	/**
+	 * Write the fingerprints sorted and without duplicates. The array is sorted
+	 * in place. The file is written beside the target and moved into place, so
+	 * readers never see a partial baseline.
+	 */
+	public static void write(Path file, long[] fingerprints, int count) throws IOException {
+		Arrays.sort(fingerprints, 0, count);
+		int unique = 0;
+		for (int i = 0; i < count; i++) {
+			if (i == 0 || fingerprints[i] != fingerprints[i - 1]) {
+				fingerprints[unique++] = fingerprints[i];
+			}
+		}
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(unique);
+				for (int i = 0; i < unique; i++) {
+					out.writeLong(fingerprints[i]);
+				}
+			}
+			try {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean contains(String className, Violation violation) {
+		return contains(fingerprint(className, violation));
+	}
+
+	public boolean contains(long fingerprint) {
+		if (fingerprint == 0) {
+			return containsZero;
+		}
+		for (int slot = slot(fingerprint);; slot = (slot + 1) & mask) {
+			long candidate = table[slot];
+			if (candidate == fingerprint) {
+				return true;
+			}
+			if (candidate == 0) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * 64-bit FNV-1a over the package-qualified class name, rule id, target,
+	 * name and message template. The class name keeps same-named classes in
+	 * different packages apart, since violation names use simple names. The
+	 * template is the message with digit runs collapsed, so counts and indexes
+	 * embedded in a message do not break the match.
+	 */
+	public static long fingerprint(String className, Violation violation) {
+		long hash = FNV_OFFSET;
+		hash = mix(hash, className);
+		hash = (hash ^ '\n') * FNV_PRIME;
+		hash = mix(hash, violation.getRuleId());
+		hash = (hash ^ violation.getTarget().ordinal()) * FNV_PRIME;
+		hash = mix(hash, violation.getName());
+		String message = violation.getMessage();
+		if (message != null) {
+			boolean inDigits = false;
+			for (int i = 0; i < message.length(); i++) {
+				char c = message.charAt(i);
+				boolean digit = c >= '0' && c <= '9';
+				if (digit && inDigits) {
+					continue;
+				}
+				inDigits = digit;
+				hash = (hash ^ (digit ? '#' : c)) * FNV_PRIME;
+			}
+		}
+		return hash;
+	}
+
+	private static long mix(long hash, String value) {
+		if (value != null) {
+			for (int i = 0; i < value.length(); i++) {
+				hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+			}
+		}
+		// Field separator so ("ab", "c") and ("a", "bc") differ.
+		return (hash ^ 0xff) * FNV_PRIME;
+	}
+
+	private boolean insert(long fingerprint) {
+		for (int slot = slot(fingerprint);; slot = (slot + 1) & mask) {
+			long candidate = table[slot];
+			if (candidate == fingerprint) {
+				return false;
+			}
+			if (candidate == 0) {
+				table[slot] = fingerprint;
+				return true;
+			}
+		}
+	}
+
+	private int slot(long fingerprint) {
+		long h = fingerprint ^ (fingerprint >>> 33);
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		return (int) h & mask;
+	}
+}
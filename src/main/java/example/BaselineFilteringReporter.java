@@ -0,0 +1,59 @@
+package example;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drops violations recorded in a {@link Baseline} before they reach the
+ * wrapped reporter, and counts the ones that are new.
+ */
+public class BaselineFilteringReporter implements Reporter {
+
+	private final Reporter delegate;
+	private final Baseline baseline;
+	private long newViolations;
+	private long suppressed;
+
+	public BaselineFilteringReporter(Reporter delegate, Baseline baseline) {
+		this.delegate = delegate;
+		this.baseline = baseline;
+	}
+
+	@Override
+	public void report(String className, LintResult result) {
+		if (result == null || !result.hasErrors()) {
+			delegate.report(className, result);
+			return;
+		}
+		List<Violation> fresh = new ArrayList<>();
+		for (Violation violation : result.getViolations()) {
+			if (baseline.contains(className, violation)) {
+				suppressed++;
+			} else {
+				fresh.add(violation);
+			}
+		}
+		newViolations += fresh.size();
+		if (fresh.size() == result.getViolations().size()) {
+			delegate.report(className, result);
+			return;
+		}
+		LintResult filtered = new LintResult();
+		filtered.addAll(fresh);
+		delegate.report(className, filtered);
+	}
+
+	public long getNewViolations() {
+		return newViolations;
+	}
+
+	public long getSuppressed() {
+		return suppressed;
+	}
+
+	@Override
+	public void close() throws IOException {
+		delegate.close();
+	}
+}
@@ -0,0 +1,57 @@
+package example;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Records the fingerprint of every reported violation and writes them as a
+ * {@link Baseline} file on close, but only if the run was marked
+ * {@link #complete() complete}, so a failed run leaves the previous baseline
+ * in place. Reports are passed through unchanged.
+ */
+public class BaselineRecordingReporter implements Reporter {
+
+	private final Reporter delegate;
+	private final Path file;
+	private long[] fingerprints = new long[1024];
+	private int count;
+	private boolean complete;
+
+	public BaselineRecordingReporter(Reporter delegate, Path file) {
+		this.delegate = delegate;
+		this.file = file;
+	}
+
+	@Override
+	public void report(String className, LintResult result) {
+		if (result != null) {
+			for (Violation violation : result.getViolations()) {
+				if (count == fingerprints.length) {
+					fingerprints = Arrays.copyOf(fingerprints, count * 2);
+				}
+				fingerprints[count++] = Baseline.fingerprint(className, violation);
+			}
+		}
+		delegate.report(className, result);
+	}
+
+	/**
+	 * Mark the run as finished successfully; the baseline is written on close
+	 * only after this is called.
+	 */
+	public void complete() {
+		complete = true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			if (complete) {
+				Baseline.write(file, fingerprints, count);
+			}
+		} finally {
+			delegate.close();
+		}
+	}
+}
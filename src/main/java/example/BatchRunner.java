@@ -0,0 +1,412 @@
+package example;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.objectweb.asm.tree.ClassNode;
+
+/**
+ * Runs many commands in one process from a batch file, one command per line:
+ *
+ * <pre>
+ * # output       arguments, as on the command line
+ * out/core.txt   core/build/classes/java/main --rules-config core/lint-rules.properties
+ * out/core.puml  --uml core/build/classes/java/main
+ * -              --advice com.acme.core.OrderService
+ * </pre>
+ *
+ * Each line's output goes to its own file ({@code -} for standard output).
+ * All class targets are read through one shared pipeline: a class named by
+ * several commands is parsed once and handed to each of them in turn. Classes
+ * are read in an order that gives every command its own targets in order, so
+ * output is written as it is produced; where commands list shared classes in
+ * conflicting orders, such a class is read again rather than held back.
+ * The smallest {@code --max-heap-budget} of any line bounds the shared
+ * pipeline. Options given next to {@code --batch} apply to every line unless
+ * the line sets them itself.
+ */
+public class BatchRunner {
+
+	static final String STDOUT = "-";
+	static final long IN_FLIGHT_BYTES = 64L * 1024 * 1024;
+
+	private BatchRunner() {}
+
+	/**
+	 * Run the batch read from {@code source} (a file, or {@code -} for standard
+	 * input) and return how many lint commands still have new violations
+	 * after baseline filtering.
+	 */
+	public static int run(String source, Map<String, String> defaultOptions) throws IOException {
+		List<String> lines = STDOUT.equals(source)
+				? readLines(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)))
+				: Files.readAllLines(Paths.get(source), StandardCharsets.UTF_8);
+		return run(parse(lines, source, defaultOptions));
+	}
+
+	static List<Job> parse(List<String> lines, String source, Map<String, String> defaultOptions) {
+		List<Job> jobs = new ArrayList<>();
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i).trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			List<String> words = split(line);
+			if (words.size() < 2) {
+				throw new IllegalArgumentException(source + ":" + (i + 1) + ": Expected '<output> <arguments>'");
+			}
+			Command parsed;
+			try {
+				parsed = LintCli.parse(words.subList(1, words.size()).toArray(new String[0]));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException(source + ":" + (i + 1) + ": " + e.getMessage(), e);
+			}
+			Map<String, String> options = new LinkedHashMap<>(defaultOptions);
+			options.remove(LintCli.BATCH);
+			options.putAll(parsed.getOptions());
+			jobs.add(new Job(words.get(0), new Command(parsed.getMode(), parsed.getTargets(), options)));
+		}
+		return jobs;
+	}
+
+	private static int run(List<Job> jobs) throws IOException {
+		List<Job> classJobs = new ArrayList<>();
+		int newViolations = 0;
+		boolean complete = false;
+		try {
+			for (Job job : jobs) {
+				job.open();
+				if (job.command.getMode() == Mode.CLASSPATH) {
+					// Scans archives rather than classes; nothing to share.
+					job.application.run(job.command);
+					continue;
+				}
+				job.targets = job.application.resolveTargets(job.command);
+				classJobs.add(job);
+			}
+
+			long budgetBytes = smallestHeapBudget(jobs);
+			try (MemoryBudget budget = budgetBytes > 0 ? new MemoryBudget(budgetBytes) : null) {
+				if (budget != null) {
+					for (Job job : jobs) {
+						if (job.command.getMode() == Mode.LINT) {
+							job.application.registerCaches(budget);
+						}
+					}
+				}
+				runPipeline(planReads(classJobs), budget);
+			}
+
+			for (Job job : jobs) {
+				if (job.watchdog != null) {
+					job.watchdog.printSummary(System.err, "Slowest classes for " + job.output);
+				}
+			}
+			complete = true;
+		} finally {
+			for (Job job : jobs) {
+				if (job.close(complete)) {
+					newViolations++;
+				}
+			}
+		}
+		return newViolations;
+	}
+
+	private static void runPipeline(List<Read> reads, MemoryBudget budget) throws IOException {
+		List<String> keys = new ArrayList<>(reads.size());
+		for (Read read : reads) {
+			keys.add(read.key);
+		}
+		long inFlightBytes = budget != null ? budget.inFlightBytes() : IN_FLIGHT_BYTES;
+		try (ClassPipeline pipeline = new ClassPipeline(keys, inFlightBytes, LintApplication::readClassBytes)) {
+			int processed = 0;
+			for (ClassPipeline.Item item = pipeline.next(); item != null; item = pipeline.next()) {
+				// The pipeline returns targets in order, so this is the read at that position.
+				for (Consumer consumer : reads.get(processed).consumers) {
+					consumer.accept(item.node());
+				}
+				pipeline.release(item);
+				if (++processed % LintApplication.PRESSURE_CHECK_INTERVAL == 0 && budget != null) {
+					budget.checkPressure();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Order the class reads so that each job gets its targets in its own
+	 * order. A class is read once for every job whose next target it is;
+	 * it is read as soon as no job that still wants it has other targets
+	 * before it. When no class is in that state, because jobs list shared
+	 * classes in conflicting orders, the next target of the first unfinished
+	 * job is read for the jobs waiting on it, and read again later for the
+	 * others. Nothing has to be buffered, whatever the orders.
+	 */
+	static List<Read> planReads(List<Job> jobs) {
+		Map<String, Waiting> waiting = new HashMap<>();
+		int remaining = 0;
+		for (Job job : jobs) {
+			job.keys = new ArrayList<>(job.targets.size());
+			for (String target : job.targets) {
+				String key = classKey(target);
+				job.keys.add(key);
+				waiting.computeIfAbsent(key, k -> new Waiting()).targets++;
+			}
+			remaining += job.targets.size();
+		}
+		Deque<String> ready = new ArrayDeque<>();
+		for (Job job : jobs) {
+			advance(job, waiting, ready);
+		}
+		List<Read> reads = new ArrayList<>(waiting.size());
+		int firstUnfinished = 0;
+		while (remaining > 0) {
+			String key = ready.poll();
+			if (key == null) {
+				while (jobs.get(firstUnfinished).next >= jobs.get(firstUnfinished).keys.size()) {
+					firstUnfinished++;
+				}
+				Job first = jobs.get(firstUnfinished);
+				key = first.keys.get(first.next);
+			}
+			Waiting entry = waiting.get(key);
+			List<Job> readers = entry.atNext;
+			entry.atNext = new ArrayList<>(1);
+			entry.targets -= readers.size();
+			remaining -= readers.size();
+			List<Consumer> consumers = new ArrayList<>(readers.size());
+			for (Job job : readers) {
+				consumers.add(new Consumer(job, job.targets.get(job.next++)));
+			}
+			reads.add(new Read(key, consumers));
+			for (Job job : readers) {
+				advance(job, waiting, ready);
+			}
+		}
+		return reads;
+	}
+
+	private static void advance(Job job, Map<String, Waiting> waiting, Deque<String> ready) {
+		if (job.next < job.keys.size()) {
+			String key = job.keys.get(job.next);
+			Waiting entry = waiting.get(key);
+			entry.atNext.add(job);
+			if (entry.atNext.size() == entry.targets) {
+				ready.add(key);
+			}
+		}
+	}
+
+	/**
+	 * The tightest {@code --max-heap-budget} of any line, or 0 if none sets
+	 * one. The pipeline is shared, so the strictest budget applies to all.
+	 */
+	private static long smallestHeapBudget(List<Job> jobs) {
+		long smallest = 0;
+		for (Job job : jobs) {
+			String budget = job.command.getOption(LintApplication.MAX_HEAP_BUDGET);
+			if (budget != null) {
+				long bytes = MemoryBudget.parseSize(budget);
+				smallest = smallest == 0 ? bytes : Math.min(smallest, bytes);
+			}
+		}
+		return smallest;
+	}
+
+	/**
+	 * Class files named by different relative paths share one key.
+	 */
+	private static String classKey(String target) {
+		return LintApplication.isClassFile(target)
+				? Paths.get(target).toAbsolutePath().normalize().toString()
+				: target;
+	}
+
+	/**
+	 * Whitespace-separated words; double quotes group words containing spaces.
+	 */
+	static List<String> split(String line) {
+		List<String> words = new ArrayList<>();
+		StringBuilder word = new StringBuilder();
+		boolean quoted = false;
+		boolean inWord = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (c == '"') {
+				quoted = !quoted;
+				inWord = true;
+			} else if (Character.isWhitespace(c) && !quoted) {
+				if (inWord) {
+					words.add(word.toString());
+					word.setLength(0);
+					inWord = false;
+				}
+			} else {
+				word.append(c);
+				inWord = true;
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("Unterminated quote in: " + line);
+		}
+		if (inWord) {
+			words.add(word.toString());
+		}
+		return words;
+	}
+
+	private static List<String> readLines(BufferedReader reader) throws IOException {
+		List<String> lines = new ArrayList<>();
+		for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+			lines.add(line);
+		}
+		return lines;
+	}
+
+	/**
+	 * One line of the batch: its command, output stream and application.
+	 */
+	static final class Job {
+		private final String output;
+		private final Command command;
+		private PrintStream out;
+		private Reporter reporter;
+		private LintApplication application;
+		private RuleWatchdog watchdog;
+		private List<String> targets;
+		private List<String> keys;
+		private int next;
+		private int emitted;
+
+		Job(String output, Command command) {
+			this.output = output;
+			this.command = command;
+		}
+
+		private void open() throws IOException {
+			if (STDOUT.equals(output)) {
+				out = System.out;
+			} else {
+				Path path = Paths.get(output);
+				if (path.getParent() != null) {
+					Files.createDirectories(path.getParent());
+				}
+				OutputStream file = new BufferedOutputStream(Files.newOutputStream(path));
+				out = new PrintStream(file, false, StandardCharsets.UTF_8);
+			}
+			Mode mode = command.getMode();
+			if (mode == Mode.LINT || mode == Mode.CLASSPATH) {
+				reporter = LintCli.createReporter(command, out);
+			}
+			if (mode == Mode.LINT) {
+				watchdog = LintApplication.createWatchdog(command);
+			}
+			application = LintCli.createApplication(command, reporter, out);
+		}
+
+		/**
+		 * Write this job's output for its next target.
+		 */
+		private void accept(String target, ClassNode node) {
+			switch (command.getMode()) {
+			case UML:
+				application.printBlock(application.diagram(node), emitted == 0);
+				break;
+			case ADVICE:
+				application.printBlock(application.advice(node), emitted == 0);
+				break;
+			case LINT:
+			default:
+				application.report(LintApplication.displayName(target, node), application.lint(node, watchdog));
+				break;
+			}
+			emitted++;
+		}
+
+		/**
+		 * Flush and close this job's outputs; true if its baseline check failed.
+		 * A baseline is only written if the whole batch completed.
+		 */
+		private boolean close(boolean complete) throws IOException {
+			try {
+				if (complete) {
+					LintCli.complete(reporter);
+				}
+				if (reporter != null) {
+					reporter.close();
+				}
+			} finally {
+				if (out != null && out != System.out) {
+					out.close();
+				} else if (out != null) {
+					out.flush();
+				}
+			}
+			return reporter instanceof BaselineFilteringReporter
+					&& ((BaselineFilteringReporter) reporter).getNewViolations() > 0;
+		}
+	}
+
+	/**
+	 * A job that wants a class, with the target it named it by.
+	 */
+	private static final class Consumer {
+		private final Job job;
+		private final String target;
+
+		private Consumer(Job job, String target) {
+			this.job = job;
+			this.target = target;
+		}
+
+		private void accept(ClassNode node) {
+			job.accept(target, node);
+		}
+	}
+
+	/**
+	 * One read of a class by the pipeline and the jobs it is handed to.
+	 */
+	static final class Read {
+		private final String key;
+		private final List<Consumer> consumers;
+
+		private Read(String key, List<Consumer> consumers) {
+			this.key = key;
+			this.consumers = consumers;
+		}
+
+		String key() {
+			return key;
+		}
+
+		int consumers() {
+			return consumers.size();
+		}
+	}
+
+	/**
+	 * For one class: how many targets still want it, and the jobs whose next
+	 * target it is.
+	 */
+	private static final class Waiting {
+		private int targets;
+		private List<Job> atNext = new ArrayList<>(1);
+	}
+}
@@ -0,0 +1,45 @@
+package example;
+
+import java.util.Set;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+
+/**
+ * Flags methods that autobox primitives inside a loop, which allocates a
+ * wrapper object per iteration outside the small-value caches.
+ */
+public class BoxingInLoopCheck implements InstructionCheck {
+
+	private static final Set<String> WRAPPERS = Set.of(
+			"java/lang/Integer", "java/lang/Long", "java/lang/Short", "java/lang/Byte",
+			"java/lang/Character", "java/lang/Boolean", "java/lang/Float", "java/lang/Double");
+
+	private String boxedType;
+
+	@Override
+	public void beginMethod(MethodScan scan) {
+		boxedType = null;
+	}
+
+	@Override
+	public void visitInsn(MethodScan scan, AbstractInsnNode insn, int index) {
+		if (boxedType != null || insn.getOpcode() != Opcodes.INVOKESTATIC) {
+			return;
+		}
+		MethodInsnNode call = (MethodInsnNode) insn;
+		if ("valueOf".equals(call.name) && call.desc.charAt(1) != 'L' && WRAPPERS.contains(call.owner)
+				&& scan.inLoop(index)) {
+			boxedType = TypeNames.simpleName(call.owner);
+		}
+	}
+
+	@Override
+	public void endMethod(MethodScan scan) {
+		if (boxedType != null) {
+			scan.report("Autoboxing to " + boxedType
+					+ " inside a loop allocates per iteration; keep the value primitive");
+		}
+	}
+}
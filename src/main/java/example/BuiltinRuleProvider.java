@@ -0,0 +1,43 @@
+package example;
+
+import java.util.List;
+
+/**
+ * Provides the rules that ship with the linter. Each rule class is referenced
+ * only from its own branch, so it is loaded the first time it is created.
+ */
+public class BuiltinRuleProvider implements RuleProvider {
+
+	private static final List<String> RULE_IDS = List.of(
+			"naming",
+			"equals-hashcode",
+			"redundant-interface",
+			"non-public-constructor",
+			"performance",
+			"escape-analysis");
+
+	@Override
+	public List<String> ruleIds() {
+		return RULE_IDS;
+	}
+
+	@Override
+	public LintRule create(String ruleId) {
+		switch (ruleId) {
+		case "naming":
+			return new NamingConventionRule();
+		case "equals-hashcode":
+			return new EqualsHashCodeRule();
+		case "redundant-interface":
+			return new RedundantInterfaceRule();
+		case "non-public-constructor":
+			return new NonPublicConstructorRule();
+		case "performance":
+			return new PerformanceRule();
+		case "escape-analysis":
+			return new EscapeAnalysisRule();
+		default:
+			return null;
+		}
+	}
+}
@@ -0,0 +1,282 @@
+package example;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Maps changed source files to the compiled classes they produce (inner and
+ * secondary top-level classes included, via the SourceFile attribute) and
+ * widens that set to every class that transitively references one of them.
+ * Lint then only has to look at this closure.
+ */
+public class ChangeScope {
+
+	private static final int CONSTANT_CLASS = 7;
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+	private static final int CONSTANT_METHOD_TYPE = 16;
+
+	private final Path classesDir;
+
+	public ChangeScope(Path classesDir) {
+		this.classesDir = classesDir;
+	}
+
+	/**
+	 * Run {@code git diff --name-only <range>} in {@code repoDir} and return the
+	 * changed paths relative to the repository root.
+	 */
+	public static List<String> changedFilesFromGit(String range, Path repoDir) throws IOException {
+		Process process = new ProcessBuilder("git", "diff", "--name-only", range)
+				.directory(repoDir.toFile())
+				.start();
+		// Drain stderr on its own thread so a chatty git cannot block on a full
+		// pipe; it is only shown if git fails, never mixed into the paths.
+		ByteArrayOutputStream errors = new ByteArrayOutputStream();
+		Thread errorDrain = new Thread(() -> {
+			try (InputStream err = process.getErrorStream()) {
+				err.transferTo(errors);
+			} catch (IOException e) {
+				// Only used for the failure message.
+			}
+		}, "git-stderr");
+		errorDrain.setDaemon(true);
+		errorDrain.start();
+		List<String> lines = readLines(process.getInputStream());
+		try {
+			int exit = process.waitFor();
+			errorDrain.join();
+			if (exit != 0) {
+				throw new IOException("git diff --name-only " + range + " failed (" + exit + "): "
+						+ errors.toString(StandardCharsets.UTF_8).trim());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for git", e);
+		}
+		return lines;
+	}
+
+	/**
+	 * Read one changed path per line from {@code file}, or from standard input
+	 * when {@code file} is {@code -}.
+	 */
+	public static List<String> readChangedFiles(String file) throws IOException {
+		if ("-".equals(file)) {
+			return readLines(System.in);
+		}
+		try (Stream<String> lines = Files.lines(Path.of(file), StandardCharsets.UTF_8)) {
+			return lines.map(String::trim).filter(line -> !line.isEmpty()).collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Resolve changed source paths to the {@code .class} files to lint: the
+	 * classes compiled from those sources plus all of their dependents. A
+	 * changed {@code .java} file that still exists but matches no class is
+	 * reported on stderr, and if none of them match, the classes directory is
+	 * taken to be wrong or stale and resolution fails rather than linting
+	 * nothing.
+	 */
+	public List<String> resolve(List<String> changedSources) throws IOException {
+		if (!Files.isDirectory(classesDir)) {
+			throw new IOException("Classes directory " + classesDir
+					+ " does not exist; check --classes-dir and that the project is compiled");
+		}
+		ClassGraph graph = scan();
+
+		Set<String> changed = new HashSet<>();
+		int javaSources = 0;
+		int unmatched = 0;
+		for (String source : changedSources) {
+			String normalized = source.replace('\\', '/');
+			int slash = normalized.lastIndexOf('/');
+			String fileName = slash >= 0 ? normalized.substring(slash + 1) : normalized;
+			boolean matched = false;
+			for (Map.Entry<String, List<String>> entry : graph.sourcesByFileName
+					.getOrDefault(fileName, Collections.emptyMap()).entrySet()) {
+				String sourceKey = entry.getKey();
+				if (normalized.equals(sourceKey) || normalized.endsWith("/" + sourceKey)) {
+					changed.addAll(entry.getValue());
+					matched = true;
+				}
+			}
+			// Deleted sources have no classes any more; that is expected.
+			if (fileName.endsWith(".java") && (matched || Files.exists(Path.of(source)))) {
+				javaSources++;
+				if (!matched) {
+					unmatched++;
+					System.err.println("Warning: no compiled class under " + classesDir + " for " + source);
+				}
+			}
+		}
+		if (javaSources > 0 && unmatched == javaSources) {
+			throw new IOException("None of the " + javaSources + " changed source files match a class under "
+					+ classesDir + "; check --classes-dir and that the project is compiled");
+		}
+
+		Set<String> closure = new HashSet<>(changed);
+		Deque<String> pending = new ArrayDeque<>(changed);
+		while (!pending.isEmpty()) {
+			for (String dependent : graph.dependents.getOrDefault(pending.poll(), Collections.emptyList())) {
+				if (closure.add(dependent)) {
+					pending.add(dependent);
+				}
+			}
+		}
+
+		return closure.stream()
+				.sorted()
+				.map(name -> classesDir.resolve(name + ".class").toString())
+				.collect(Collectors.toList());
+	}
+
+	private ClassGraph scan() throws IOException {
+		ClassGraph graph = new ClassGraph();
+		List<Path> classFiles;
+		try (Stream<Path> files = Files.walk(classesDir)) {
+			classFiles = files.filter(p -> p.toString().endsWith(".class")).collect(Collectors.toList());
+		}
+
+		Map<String, Set<String>> references = new HashMap<>();
+		for (Path file : classFiles) {
+			ClassReader reader = new ClassReader(Files.readAllBytes(file));
+			ReferenceCollector collector = new ReferenceCollector();
+			reader.accept(collector, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
+			collectConstantPoolReferences(reader, collector.references);
+
+			String name = reader.getClassName();
+			if (collector.sourceFile != null) {
+				int slash = name.lastIndexOf('/');
+				String sourceKey = (slash >= 0 ? name.substring(0, slash + 1) : "") + collector.sourceFile;
+				graph.sourcesByFileName.computeIfAbsent(collector.sourceFile, k -> new HashMap<>())
+						.computeIfAbsent(sourceKey, k -> new ArrayList<>()).add(name);
+			}
+			collector.references.remove(name);
+			references.put(name, collector.references);
+		}
+
+		for (Map.Entry<String, Set<String>> entry : references.entrySet()) {
+			for (String referenced : entry.getValue()) {
+				if (references.containsKey(referenced)) {
+					graph.dependents.computeIfAbsent(referenced, k -> new ArrayList<>()).add(entry.getKey());
+				}
+			}
+		}
+		return graph;
+	}
+
+	private static void collectConstantPoolReferences(ClassReader reader, Set<String> references) {
+		char[] buffer = new char[reader.getMaxStringLength()];
+		for (int i = 1; i < reader.getItemCount(); i++) {
+			int offset = reader.getItem(i);
+			if (offset == 0) {
+				continue;
+			}
+			switch (reader.readByte(offset - 1)) {
+			case CONSTANT_CLASS:
+				addTypeName(reader.readUTF8(offset, buffer), references);
+				break;
+			case CONSTANT_NAME_AND_TYPE:
+				addDescriptor(reader.readUTF8(offset + 2, buffer), references);
+				break;
+			case CONSTANT_METHOD_TYPE:
+				addDescriptor(reader.readUTF8(offset, buffer), references);
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	private static void addTypeName(String name, Set<String> references) {
+		if (name.startsWith("[")) {
+			addDescriptor(name, references);
+		} else {
+			references.add(name);
+		}
+	}
+
+	private static void addDescriptor(String descriptor, Set<String> references) {
+		if (descriptor == null) {
+			return;
+		}
+		int start = descriptor.indexOf('L');
+		while (start >= 0) {
+			int end = descriptor.indexOf(';', start);
+			if (end < 0) {
+				return;
+			}
+			references.add(descriptor.substring(start + 1, end));
+			start = descriptor.indexOf('L', end);
+		}
+	}
+
+	private static List<String> readLines(InputStream stream) throws IOException {
+		List<String> lines = new ArrayList<>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+		for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+			if (!line.isBlank()) {
+				lines.add(line.trim());
+			}
+		}
+		return lines;
+	}
+
+	private static final class ClassGraph {
+		// Source file name -> package-qualified source path -> classes compiled from it.
+		private final Map<String, Map<String, List<String>>> sourcesByFileName = new HashMap<>();
+		// Class -> classes that reference it.
+		private final Map<String, List<String>> dependents = new HashMap<>();
+	}
+
+	private static final class ReferenceCollector extends ClassVisitor {
+		private final Set<String> references = new HashSet<>();
+		private String sourceFile;
+
+		private ReferenceCollector() {
+			super(Opcodes.ASM9);
+		}
+
+		@Override
+		public void visitSource(String source, String debug) {
+			sourceFile = source;
+		}
+
+		@Override
+		public FieldVisitor visitField(int access, String name, String descriptor, String signature,
+				Object value) {
+			addDescriptor(descriptor, references);
+			return null;
+		}
+
+		@Override
+		public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+				String[] exceptions) {
+			addDescriptor(descriptor, references);
+			return null;
+		}
+	}
+}
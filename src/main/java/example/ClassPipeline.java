@@ -0,0 +1,136 @@
+package example;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+
+/**
+ * Bounded producer/consumer pipeline for class ingestion. A reader thread
+ * parses targets into {@link ClassNode}s while the caller lints them; the
+ * reader blocks once the estimated size of queued and in-process nodes reaches
+ * the in-flight byte budget, so memory stays fixed however many targets there
+ * are.
+ */
+class ClassPipeline implements AutoCloseable {
+
+	// A parsed ClassNode with frames expanded is several times its class file.
+	static final int NODE_EXPANSION_FACTOR = 8;
+	static final int MAX_QUEUED = 1_024;
+
+	private static final Item END = new Item(null, null, 0);
+
+	private final BlockingQueue<Item> queue;
+	private final Semaphore inFlightKb;
+	private final int totalKb;
+	private final Thread reader;
+	private volatile Throwable failure;
+
+	/**
+	 * Reads the bytes of one target.
+	 */
+	@FunctionalInterface
+	interface ClassBytesReader {
+		byte[] read(String target) throws IOException;
+	}
+
+	ClassPipeline(List<String> targets, long inFlightBytes, ClassBytesReader bytesReader) {
+		this.totalKb = (int) Math.max(1, Math.min(Integer.MAX_VALUE, inFlightBytes / 1024));
+		this.inFlightKb = new Semaphore(totalKb);
+		this.queue = new ArrayBlockingQueue<>(MAX_QUEUED);
+		this.reader = new Thread(() -> produce(targets, bytesReader), "lint-class-reader");
+		this.reader.setDaemon(true);
+		this.reader.start();
+	}
+
+	/**
+	 * Next parsed class, or {@code null} when all targets have been consumed.
+	 * Call {@link #release(Item)} once done with it. A failure of the reader
+	 * thread is rethrown here.
+	 */
+	Item next() throws IOException {
+		try {
+			Item item = queue.take();
+			if (item == END) {
+				queue.put(END);
+				if (failure instanceof IOException) {
+					throw (IOException) failure;
+				}
+				if (failure instanceof Error) {
+					throw (Error) failure;
+				}
+				if (failure != null) {
+					throw new IOException("Could not read classes", failure);
+				}
+				return null;
+			}
+			return item;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for classes", e);
+		}
+	}
+
+	void release(Item item) {
+		inFlightKb.release(item.costKb);
+	}
+
+	@Override
+	public void close() {
+		reader.interrupt();
+	}
+
+	private void produce(List<String> targets, ClassBytesReader bytesReader) {
+		String current = null;
+		try {
+			for (String target : targets) {
+				current = target;
+				byte[] bytes = bytesReader.read(target);
+				int costKb = (int) Math.min(totalKb,
+						Math.max(1, (long) bytes.length * NODE_EXPANSION_FACTOR / 1024));
+				inFlightKb.acquire(costKb);
+				ClassNode node = new ClassNode();
+				new ClassReader(bytes).accept(node, ClassReader.EXPAND_FRAMES);
+				queue.put(new Item(target, node, costKb));
+			}
+		} catch (IOException | Error e) {
+			failure = e;
+		} catch (InterruptedException e) {
+			// Closed by the consumer; keep the flag so the END below does not block.
+			Thread.currentThread().interrupt();
+		} catch (Throwable e) {
+			failure = new IOException("Could not parse " + current, e);
+		} finally {
+			// Always end the stream, or the consumer waits in next() forever.
+			try {
+				queue.put(END);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	static final class Item {
+		private final String target;
+		private final ClassNode node;
+		private final int costKb;
+
+		private Item(String target, ClassNode node, int costKb) {
+			this.target = target;
+			this.node = node;
+			this.costKb = costKb;
+		}
+
+		String target() {
+			return target;
+		}
+
+		ClassNode node() {
+			return node;
+		}
+	}
+}
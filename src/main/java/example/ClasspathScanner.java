@@ -0,0 +1,283 @@
+package example;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Finds classes defined by more than one classpath entry, and packages split
+ * across entries. Entries are read in parallel; jar entries are fingerprinted
+ * by the CRC-32 and size in the zip directory, so no class is decompressed.
+ */
+public class ClasspathScanner {
+
+	public static final String CONFLICT_ID = "classpath-conflict";
+	public static final String DUPLICATE_ID = "classpath-duplicate";
+	public static final String SPLIT_PACKAGE_ID = "split-package";
+
+	private static final String CLASS_SUFFIX = ".class";
+	private static final String PACKAGE_INFO = "package-info";
+
+	private final int threads;
+
+	public ClasspathScanner() {
+		this(Math.max(2, Runtime.getRuntime().availableProcessors() * 2));
+	}
+
+	public ClasspathScanner(int threads) {
+		this.threads = threads;
+	}
+
+	/**
+	 * Split classpath strings on the platform path separator into entries.
+	 */
+	public static List<Path> entries(List<String> classpaths) {
+		List<Path> entries = new ArrayList<>();
+		for (String classpath : classpaths) {
+			for (String element : classpath.split(File.pathSeparator)) {
+				if (!element.isEmpty()) {
+					entries.add(Paths.get(element));
+				}
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Scan the entries and report each duplicated class and split package,
+	 * keyed by class or package name in sorted order.
+	 */
+	public void scan(List<Path> entries, Reporter reporter) throws IOException {
+		Map<String, Definition> classes = new HashMap<>();
+		Map<String, PackageOrigins> packages = new HashMap<>();
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, entries.size())),
+				runnable -> {
+					Thread thread = new Thread(runnable, "classpath-scan");
+					thread.setDaemon(true);
+					return thread;
+				});
+		try {
+			List<Future<EntryScan>> scans = new ArrayList<>(entries.size());
+			for (Path entry : entries) {
+				scans.add(executor.submit(() -> scanEntry(entry)));
+			}
+			// Merge in classpath order so "first definition wins" matches the class loader.
+			for (int origin = 0; origin < scans.size(); origin++) {
+				merge(await(scans.get(origin)), origin, classes, packages);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		report(entries, classes, packages, reporter);
+	}
+
+	private static EntryScan await(Future<EntryScan> scan) throws IOException {
+		try {
+			return scan.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Classpath scan interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		}
+	}
+
+	private static EntryScan scanEntry(Path entry) throws IOException {
+		EntryScan scan = new EntryScan();
+		if (Files.isDirectory(entry)) {
+			try (Stream<Path> files = Files.walk(entry)) {
+				for (Path file : (Iterable<Path>) files::iterator) {
+					String name = entry.relativize(file).toString().replace(File.separatorChar, '/');
+					if (isClassEntry(name) && Files.isRegularFile(file)) {
+						byte[] bytes = Files.readAllBytes(file);
+						CRC32 crc = new CRC32();
+						crc.update(bytes);
+						scan.add(name, fingerprint(crc.getValue(), bytes.length));
+					}
+				}
+			}
+		} else if (Files.isRegularFile(entry)) {
+			try (ZipFile zip = new ZipFile(entry.toFile())) {
+				Enumeration<? extends ZipEntry> zipEntries = zip.entries();
+				while (zipEntries.hasMoreElements()) {
+					ZipEntry zipEntry = zipEntries.nextElement();
+					if (!zipEntry.isDirectory() && isClassEntry(zipEntry.getName())) {
+						scan.add(zipEntry.getName(), fingerprint(zipEntry.getCrc(), zipEntry.getSize()));
+					}
+				}
+			} catch (ZipException e) {
+				// The class loader cannot read it either, so it defines nothing.
+				System.err.println("Skipping " + entry + ": not a jar or zip file (" + e.getMessage() + ")");
+				return new EntryScan();
+			}
+		}
+		// Missing entries are skipped, as the JVM does for a classpath.
+		return scan;
+	}
+
+	/**
+	 * Class files that take part in class loading: multi-release variants and
+	 * module descriptors are not duplicates of anything.
+	 */
+	private static boolean isClassEntry(String name) {
+		return name.endsWith(CLASS_SUFFIX) && !name.startsWith("META-INF/") && !name.endsWith("module-info.class");
+	}
+
+	private static long fingerprint(long crc, long size) {
+		return (crc << 32) ^ (size & 0xFFFFFFFFL);
+	}
+
+	private static void merge(EntryScan scan, int origin, Map<String, Definition> classes,
+			Map<String, PackageOrigins> packages) {
+		String lastPackage = null;
+		for (int i = 0; i < scan.size; i++) {
+			String internalName = scan.names.get(i);
+			Definition first = classes.putIfAbsent(internalName, new Definition(origin, scan.fingerprints[i]));
+			if (first != null) {
+				// Already reported as a duplicate; copies alone do not split a package.
+				first.addDuplicate(origin, scan.fingerprints[i]);
+				continue;
+			}
+			// Archives list a package's classes together, so most lookups are skipped.
+			int slash = internalName.lastIndexOf('/');
+			String packageName = slash < 0 ? "" : internalName.substring(0, slash);
+			if (!packageName.equals(lastPackage)) {
+				packages.computeIfAbsent(packageName, name -> new PackageOrigins()).origins.add(origin);
+				lastPackage = packageName;
+			}
+		}
+	}
+
+	private static void report(List<Path> entries, Map<String, Definition> classes,
+			Map<String, PackageOrigins> packages, Reporter reporter) {
+		Map<String, Definition> duplicated = new TreeMap<>();
+		for (Map.Entry<String, Definition> entry : classes.entrySet()) {
+			if (entry.getValue().duplicateOrigins != null) {
+				duplicated.put(entry.getKey(), entry.getValue());
+			}
+		}
+		for (Map.Entry<String, Definition> entry : duplicated.entrySet()) {
+			String className = TypeNames.objectClassName(
+					entry.getKey().substring(0, entry.getKey().length() - CLASS_SUFFIX.length()));
+			Definition definition = entry.getValue();
+			String where = describe(entries, definition.origins());
+			Violation violation = definition.conflicting
+					? new Violation(Violation.Target.CLASS, className,
+							"Defined with different contents in " + where + "; the first one shadows the others",
+							CONFLICT_ID, Severity.ERROR)
+					: new Violation(Violation.Target.CLASS, className,
+							"Defined identically in " + where, DUPLICATE_ID, Severity.WARNING);
+			LintResult result = new LintResult();
+			result.addAll(List.of(violation));
+			reporter.report(className, result);
+		}
+
+		Map<String, PackageOrigins> split = new TreeMap<>();
+		for (Map.Entry<String, PackageOrigins> entry : packages.entrySet()) {
+			if (entry.getValue().origins.size() > 1) {
+				split.put(entry.getKey(), entry.getValue());
+			}
+		}
+		for (Map.Entry<String, PackageOrigins> entry : split.entrySet()) {
+			String packageName = entry.getKey().isEmpty() ? "(default package)" : entry.getKey().replace('/', '.');
+			LintResult result = new LintResult();
+			result.addAll(List.of(new Violation(Violation.Target.PACKAGE, packageName,
+					"Package is split across " + describe(entries, entry.getValue().origins),
+					SPLIT_PACKAGE_ID, Severity.WARNING)));
+			// Reporters take the package from a class name, so name the package's own class.
+			reporter.report(TypeNames.objectClassName(entry.getKey().isEmpty()
+					? PACKAGE_INFO : entry.getKey() + '/' + PACKAGE_INFO), result);
+		}
+	}
+
+	private static String describe(List<Path> entries, Iterable<Integer> origins) {
+		StringBuilder sb = new StringBuilder();
+		int count = 0;
+		for (int origin : origins) {
+			if (count++ > 0) {
+				sb.append(", ");
+			}
+			sb.append(entries.get(origin));
+		}
+		return count + " entries: " + sb;
+	}
+
+	/**
+	 * Class files found in one classpath entry, in the order they were listed.
+	 */
+	private static final class EntryScan {
+		private final List<String> names = new ArrayList<>();
+		private long[] fingerprints = new long[64];
+		private int size;
+
+		private void add(String name, long fingerprint) {
+			if (size == fingerprints.length) {
+				fingerprints = Arrays.copyOf(fingerprints, size * 2);
+			}
+			names.add(name);
+			fingerprints[size++] = fingerprint;
+		}
+	}
+
+	/**
+	 * First definition of a class, plus the entries that define it again.
+	 */
+	private static final class Definition {
+		private final int origin;
+		private final long fingerprint;
+		private List<Integer> duplicateOrigins;
+		private boolean conflicting;
+
+		private Definition(int origin, long fingerprint) {
+			this.origin = origin;
+			this.fingerprint = fingerprint;
+		}
+
+		private void addDuplicate(int duplicateOrigin, long duplicateFingerprint) {
+			if (duplicateOrigins == null) {
+				duplicateOrigins = new ArrayList<>(2);
+			}
+			duplicateOrigins.add(duplicateOrigin);
+			conflicting |= duplicateFingerprint != fingerprint;
+		}
+
+		private List<Integer> origins() {
+			List<Integer> origins = new ArrayList<>(duplicateOrigins.size() + 1);
+			origins.add(origin);
+			origins.addAll(duplicateOrigins);
+			return origins;
+		}
+	}
+
+	/**
+	 * Entries that are the first to define some class of one package, in
+	 * classpath order. A package is split when there is more than one.
+	 */
+	private static final class PackageOrigins {
+		private final LinkedHashSet<Integer> origins = new LinkedHashSet<>(2);
+	}
+}
@@ -3,6 +3,7 @@ package example;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Parsed CLI command.
@@ -11,10 +12,16 @@ public class Command {
 
 	private final Mode mode;
 	private final List<String> targets;
+	private final Map<String, String> options;
 
 	public Command(Mode mode, List<String> targets) {
+		this(mode, targets, Collections.emptyMap());
+	}
+
+	public Command(Mode mode, List<String> targets, Map<String, String> options) {
 		this.mode = mode;
 		this.targets = targets == null ? Collections.emptyList() : targets;
+		this.options = options == null ? Collections.emptyMap() : Collections.unmodifiableMap(options);
 	}
 
 	public Mode getMode() {
@@ -25,6 +32,17 @@ public class Command {
 		return targets;
 	}
 
+	/**
+	 * Value of a {@code --name value} option, or {@code null} if absent.
+	 */
+	public String getOption(String name) {
+		return options.get(name);
+	}
+
+	public Map<String, String> getOptions() {
+		return options;
+	}
+
 	public static Command of(Mode mode, String... targets) {
 		return new Command(mode, targets == null ? Collections.emptyList() : Arrays.asList(targets));
 	}
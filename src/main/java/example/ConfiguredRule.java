@@ -0,0 +1,52 @@
+package example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.objectweb.asm.tree.ClassNode;
+
+/**
+ * Decorates a rule with its configuration: skips classes in packages where the
+ * rule is disabled and stamps the rule id and configured severity onto every
+ * violation.
+ */
+public class ConfiguredRule implements LintRule {
+
+	private final String ruleId;
+	private final LintRule delegate;
+	private final RuleConfig config;
+	private final boolean packageSensitive;
+
+	public ConfiguredRule(String ruleId, LintRule delegate, RuleConfig config) {
+		this.ruleId = ruleId;
+		this.delegate = delegate;
+		this.config = config;
+		this.packageSensitive = config.hasPackageOverrides(ruleId);
+	}
+
+	@Override
+	public String id() {
+		return ruleId;
+	}
+
+	public LintRule getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public List<Violation> check(ClassNode node) {
+		if (packageSensitive && !config.isEnabled(ruleId, node.name)) {
+			return List.of();
+		}
+		List<Violation> violations = delegate.check(node);
+		if (violations == null || violations.isEmpty()) {
+			return violations;
+		}
+		Severity severity = config.severity(ruleId, node.name);
+		List<Violation> stamped = new ArrayList<>(violations.size());
+		for (Violation violation : violations) {
+			stamped.add(violation.withRule(ruleId, severity));
+		}
+		return stamped;
+	}
+}
@@ -0,0 +1,94 @@
+package example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Registry that discovers rules through {@link RuleProvider} services and only
+ * instantiates the ones enabled by the {@link RuleConfig}. Rules are created on
+ * the first call to {@link #rules()}.
+ */
+public class ConfiguredRuleRegistry implements RuleRegistry {
+
+	private final RuleConfig config;
+	private final List<RuleProvider> extraProviders = new ArrayList<>();
+	private final ClassLoader classLoader;
+	private List<LintRule> rules;
+
+	public ConfiguredRuleRegistry(RuleConfig config) {
+		this(config, ConfiguredRuleRegistry.class.getClassLoader());
+	}
+
+	public ConfiguredRuleRegistry(RuleConfig config, ClassLoader classLoader) {
+		this.config = config == null ? RuleConfig.defaults() : config;
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * Add a provider that is not registered as a service, e.g. one built from
+	 * a file at startup. Must be called before the rules are first requested.
+	 */
+	public void addProvider(RuleProvider provider) {
+		if (rules != null) {
+			throw new IllegalStateException("Rules have already been instantiated");
+		}
+		if (provider != null) {
+			extraProviders.add(provider);
+		}
+	}
+
+	@Override
+	public synchronized List<LintRule> rules() {
+		if (rules == null) {
+			rules = Collections.unmodifiableList(instantiate());
+		}
+		return rules;
+	}
+
+	/**
+	 * Create the enabled rules, after checking that the config names only
+	 * rules some provider knows.
+	 */
+	private List<LintRule> instantiate() {
+		List<RuleProvider> providers = new ArrayList<>();
+		for (RuleProvider provider : ServiceLoader.load(RuleProvider.class, classLoader)) {
+			providers.add(provider);
+		}
+		providers.addAll(extraProviders);
+		Set<String> known = new HashSet<>();
+		for (RuleProvider provider : providers) {
+			known.addAll(provider.ruleIds());
+		}
+		config.checkRuleIds(known);
+
+		List<LintRule> enabled = new ArrayList<>();
+		Map<String, RuleProvider> owners = new HashMap<>();
+		for (RuleProvider provider : providers) {
+			addEnabled(provider, enabled, owners);
+		}
+		return enabled;
+	}
+
+	private void addEnabled(RuleProvider provider, List<LintRule> enabled, Map<String, RuleProvider> owners) {
+		for (String ruleId : provider.ruleIds()) {
+			RuleProvider owner = owners.putIfAbsent(ruleId, provider);
+			if (owner != null) {
+				throw new IllegalArgumentException("Rule id '" + ruleId + "' from " + provider.source()
+						+ " is already defined by " + owner.source());
+			}
+			if (!config.isEnabledAnywhere(ruleId)) {
+				continue;
+			}
+			LintRule rule = provider.create(ruleId);
+			if (rule != null) {
+				enabled.add(new ConfiguredRule(ruleId, rule, config));
+			}
+		}
+	}
+}
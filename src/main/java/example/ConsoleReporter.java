@@ -1,19 +1,35 @@
 package example;
 
+import java.io.PrintStream;
+
 /**
- * Reports lint results to standard output.
+ * Reports lint results to standard output, or to the given stream.
  */
 public class ConsoleReporter implements Reporter {
 
+	private final PrintStream out;
+
+	public ConsoleReporter() {
+		this(System.out);
+	}
+
+	public ConsoleReporter(PrintStream out) {
+		this.out = out;
+	}
+
 	@Override
 	public void report(String className, LintResult result) {
 		if (result == null || !result.hasErrors()) {
-			System.out.println("No violations for " + className);
+			out.println("No violations for " + className);
 			return;
 		}
 
 		for (Violation violation : result.getViolations()) {
-			System.out.println(violation);
+			if (violation.getSeverity() == Severity.WARNING) {
+				out.println(violation);
+			} else {
+				out.println(violation.getSeverity() + " " + violation);
+			}
 		}
 	}
 }
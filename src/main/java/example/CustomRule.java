@@ -0,0 +1,120 @@
+package example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * A rule compiled from one line of a custom rules file. Class-level filters
+ * are checked first, so a class outside the rule's scope costs a couple of
+ * string comparisons; the requirement itself is a precompiled {@link Check}.
+ */
+public class CustomRule extends RuleTemplate {
+
+	enum Subject {
+		CLASSES,
+		FIELDS,
+		METHODS,
+		CONSTRUCTORS
+	}
+
+	/**
+	 * Requirement on a class or member, given its access flags and name. The
+	 * owning class is passed for requirements that look at other members.
+	 */
+	@FunctionalInterface
+	interface Check {
+		boolean test(int access, String name, ClassNode owner);
+	}
+
+	private final String id;
+	private final String message;
+	private final Subject subject;
+	private final String packagePrefix;
+	private final NameMatcher className;
+	private final NameMatcher memberName;
+	private final int requiredAccess;
+	private final int forbiddenAccess;
+	private final Check requirement;
+	private final boolean negated;
+
+	CustomRule(String id, String message, Subject subject, String packagePrefix, NameMatcher className,
+			NameMatcher memberName, int requiredAccess, int forbiddenAccess, Check requirement, boolean negated) {
+		this.id = id;
+		this.message = message;
+		this.subject = subject;
+		this.packagePrefix = packagePrefix;
+		this.className = className;
+		this.memberName = memberName;
+		this.requiredAccess = requiredAccess;
+		this.forbiddenAccess = forbiddenAccess;
+		this.requirement = requirement;
+		this.negated = negated;
+	}
+
+	@Override
+	public String id() {
+		return id;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected List<Violation> collectViolations(ClassNode node) {
+		List<Violation> violations = new ArrayList<>();
+		if (packagePrefix != null && !node.name.startsWith(packagePrefix)) {
+			return violations;
+		}
+		String simpleName = TypeNames.nestedSimpleName(node.name);
+		if (className != null && !className.matches(simpleName)) {
+			return violations;
+		}
+
+		switch (subject) {
+		case CLASSES:
+			if (inScope(node.access, simpleName) && fails(node.access, simpleName, node)) {
+				violations.add(new Violation(Violation.Target.CLASS, simpleName, message));
+			}
+			break;
+		case FIELDS:
+			for (FieldNode field : (List<FieldNode>) node.fields) {
+				if (inScope(field.access, field.name) && fails(field.access, field.name, node)) {
+					violations.add(new Violation(Violation.Target.FIELD, simpleName + "#" + field.name, message));
+				}
+			}
+			break;
+		case METHODS:
+		case CONSTRUCTORS:
+			boolean constructors = subject == Subject.CONSTRUCTORS;
+			for (MethodNode method : (List<MethodNode>) node.methods) {
+				if (constructors != "<init>".equals(method.name) || "<clinit>".equals(method.name)) {
+					continue;
+				}
+				if (inScope(method.access, method.name) && fails(method.access, method.name, node)) {
+					violations.add(new Violation(Violation.Target.METHOD, simpleName + "#" + method.name, message));
+				}
+			}
+			break;
+		default:
+			break;
+		}
+		return violations;
+	}
+
+	private boolean inScope(int access, String name) {
+		if ((access & Opcodes.ACC_SYNTHETIC) != 0 && (requiredAccess & Opcodes.ACC_SYNTHETIC) == 0) {
+			return false;
+		}
+		if ((access & requiredAccess) != requiredAccess || (access & forbiddenAccess) != 0) {
+			return false;
+		}
+		return memberName == null || memberName.matches(name);
+	}
+
+	private boolean fails(int access, String name, ClassNode owner) {
+		return requirement.test(access, name, owner) == negated;
+	}
+}
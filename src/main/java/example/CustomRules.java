@@ -0,0 +1,295 @@
+package example;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Rules declared in a text file, one per line, compiled when the file is
+ * loaded:
+ *
+ * <pre>
+ * dto-constructor: classes named *DTO must have a public no-arg constructor
+ * config-fields: fields of classes named *Config that are non-static must be final
+ * no-public-fields: fields in com.acme that are non-static must not be public
+ * getter-names: methods named get* that are public must match get[A-Z]\w*
+ * </pre>
+ *
+ * A line is {@code <id>: <subject> [named <glob>] [of classes named <glob>]
+ * [in <package>] [that are <modifiers>] must [not] <requirement>}, where the
+ * subject is {@code classes}, {@code fields}, {@code methods} or
+ * {@code constructors} and the requirement is {@code be <modifiers>},
+ * {@code match <regex>} or, for classes, {@code have a [<modifiers>]
+ * [no-arg] constructor}. Modifiers may be prefixed with {@code non-}. The
+ * line after the id is used as the violation message.
+ */
+public class CustomRules implements RuleProvider {
+
+	private static final Map<String, Integer> MODIFIERS = Map.ofEntries(
+			Map.entry("public", Opcodes.ACC_PUBLIC),
+			Map.entry("protected", Opcodes.ACC_PROTECTED),
+			Map.entry("private", Opcodes.ACC_PRIVATE),
+			Map.entry("static", Opcodes.ACC_STATIC),
+			Map.entry("final", Opcodes.ACC_FINAL),
+			Map.entry("abstract", Opcodes.ACC_ABSTRACT),
+			Map.entry("synchronized", Opcodes.ACC_SYNCHRONIZED),
+			Map.entry("volatile", Opcodes.ACC_VOLATILE),
+			Map.entry("transient", Opcodes.ACC_TRANSIENT),
+			Map.entry("native", Opcodes.ACC_NATIVE),
+			Map.entry("synthetic", Opcodes.ACC_SYNTHETIC),
+			Map.entry("interface", Opcodes.ACC_INTERFACE),
+			Map.entry("enum", Opcodes.ACC_ENUM),
+			Map.entry("annotation", Opcodes.ACC_ANNOTATION));
+
+	private static final int VISIBILITY = Opcodes.ACC_PUBLIC | Opcodes.ACC_PROTECTED | Opcodes.ACC_PRIVATE;
+	private static final String PACKAGE_PRIVATE = "package-private";
+
+	private final Map<String, CustomRule> rules;
+	private final String source;
+
+	private CustomRules(Map<String, CustomRule> rules, String source) {
+		this.rules = rules;
+		this.source = source;
+	}
+
+	public static CustomRules load(Path file) throws IOException {
+		return parse(Files.readAllLines(file, StandardCharsets.UTF_8), file.toString());
+	}
+
+	/**
+	 * Compile the rule lines; blank lines and lines starting with {@code #}
+	 * are ignored.
+	 */
+	public static CustomRules parse(List<String> lines, String source) {
+		Map<String, CustomRule> rules = new LinkedHashMap<>();
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i).trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			try {
+				CustomRule rule = compile(line);
+				if (rules.putIfAbsent(rule.id(), rule) != null) {
+					throw new IllegalArgumentException("Duplicate rule id '" + rule.id() + "'");
+				}
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException(source + ":" + (i + 1) + ": " + e.getMessage(), e);
+			}
+		}
+		return new CustomRules(rules, source);
+	}
+
+	@Override
+	public List<String> ruleIds() {
+		return new ArrayList<>(rules.keySet());
+	}
+
+	@Override
+	public LintRule create(String ruleId) {
+		return rules.get(ruleId);
+	}
+
+	@Override
+	public String source() {
+		return source;
+	}
+
+	private static CustomRule compile(String line) {
+		int colon = line.indexOf(':');
+		if (colon <= 0) {
+			throw new IllegalArgumentException("Expected '<id>: <rule>'");
+		}
+		String id = line.substring(0, colon).trim();
+		String text = line.substring(colon + 1).trim();
+		Tokens tokens = new Tokens(text.split("\\s+"));
+
+		CustomRule.Subject subject = subject(tokens.next("a subject"));
+		boolean classes = subject == CustomRule.Subject.CLASSES;
+		NameMatcher className = null;
+		NameMatcher memberName = null;
+		String packagePrefix = null;
+		int[] filter = { 0, 0 };
+
+		while (!tokens.accept("must")) {
+			String keyword = tokens.next("'must'");
+			switch (keyword) {
+			case "named":
+				NameMatcher matcher = NameMatcher.glob(tokens.next("a name pattern"));
+				if (classes) {
+					className = matcher;
+				} else {
+					memberName = matcher;
+				}
+				break;
+			case "of":
+				if (classes) {
+					throw new IllegalArgumentException("'of classes named' only applies to members");
+				}
+				tokens.expect("classes");
+				tokens.expect("named");
+				className = NameMatcher.glob(tokens.next("a class name pattern"));
+				break;
+			case "in":
+				packagePrefix = tokens.next("a package").replace('.', '/') + "/";
+				break;
+			case "that":
+				tokens.expect("are");
+				filter = modifiers(tokens, "must");
+				break;
+			default:
+				throw new IllegalArgumentException("Unexpected '" + keyword + "'");
+			}
+		}
+
+		boolean negated = tokens.accept("not");
+		CustomRule.Check requirement = requirement(tokens, classes);
+		if (tokens.hasNext()) {
+			throw new IllegalArgumentException("Unexpected '" + tokens.next("") + "'");
+		}
+		return new CustomRule(id, text, subject, packagePrefix, className, memberName, filter[0], filter[1],
+				requirement, negated);
+	}
+
+	private static CustomRule.Subject subject(String word) {
+		switch (word) {
+		case "classes":
+			return CustomRule.Subject.CLASSES;
+		case "fields":
+			return CustomRule.Subject.FIELDS;
+		case "methods":
+			return CustomRule.Subject.METHODS;
+		case "constructors":
+			return CustomRule.Subject.CONSTRUCTORS;
+		default:
+			throw new IllegalArgumentException("Unknown subject '" + word + "'");
+		}
+	}
+
+	private static CustomRule.Check requirement(Tokens tokens, boolean classes) {
+		String verb = tokens.next("a requirement");
+		switch (verb) {
+		case "be": {
+			int[] mask = modifiers(tokens);
+			if (mask[0] == 0 && mask[1] == 0) {
+				throw new IllegalArgumentException("Expected modifiers after 'be'");
+			}
+			int required = mask[0];
+			int forbidden = mask[1];
+			return (access, name, owner) -> (access & required) == required && (access & forbidden) == 0;
+		}
+		case "match": {
+			NameMatcher pattern = NameMatcher.regex(tokens.next("a regular expression"));
+			return (access, name, owner) -> pattern.matches(name);
+		}
+		case "have": {
+			if (!classes) {
+				throw new IllegalArgumentException("'have' only applies to classes");
+			}
+			if (!tokens.accept("a")) {
+				tokens.accept("an");
+			}
+			int[] mask = modifiers(tokens, "constructor", "no-arg");
+			boolean noArg = tokens.accept("no-arg");
+			tokens.expect("constructor");
+			return constructorCheck(mask[0], mask[1], noArg);
+		}
+		default:
+			throw new IllegalArgumentException("Unknown requirement '" + verb + "'");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static CustomRule.Check constructorCheck(int required, int forbidden, boolean noArg) {
+		return (access, name, owner) -> {
+			for (MethodNode method : (List<MethodNode>) owner.methods) {
+				if ("<init>".equals(method.name) && (!noArg || "()V".equals(method.desc))
+						&& (method.access & required) == required && (method.access & forbidden) == 0) {
+					return true;
+				}
+			}
+			return false;
+		};
+	}
+
+	/**
+	 * Read modifiers up to one of the stop words (or the end of the line) into
+	 * {@code {required, forbidden}} access masks.
+	 */
+	private static int[] modifiers(Tokens tokens, String... stopWords) {
+		int required = 0;
+		int forbidden = 0;
+		while (tokens.hasNext() && !tokens.peekAny(stopWords)) {
+			String word = tokens.next("a modifier");
+			boolean not = word.startsWith("non-");
+			String modifier = not ? word.substring(4) : word;
+			if (PACKAGE_PRIVATE.equals(modifier)) {
+				if (not) {
+					throw new IllegalArgumentException("Use public, protected or private, not non-package-private");
+				}
+				forbidden |= VISIBILITY;
+				continue;
+			}
+			Integer flag = MODIFIERS.get(modifier);
+			if (flag == null) {
+				throw new IllegalArgumentException("Unknown modifier '" + word + "'");
+			}
+			if (not) {
+				forbidden |= flag;
+			} else {
+				required |= flag;
+			}
+		}
+		return new int[] { required, forbidden };
+	}
+
+	private static final class Tokens {
+		private final String[] words;
+		private int position;
+
+		private Tokens(String[] words) {
+			this.words = words;
+		}
+
+		private boolean hasNext() {
+			return position < words.length && !words[position].isEmpty();
+		}
+
+		private String next(String expected) {
+			if (!hasNext()) {
+				throw new IllegalArgumentException("Expected " + expected + " at end of rule");
+			}
+			return words[position++];
+		}
+
+		private boolean accept(String word) {
+			if (hasNext() && words[position].equals(word)) {
+				position++;
+				return true;
+			}
+			return false;
+		}
+
+		private boolean peekAny(String... candidates) {
+			for (String candidate : candidates) {
+				if (words[position].equals(candidate)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private void expect(String word) {
+			if (!accept(word)) {
+				throw new IllegalArgumentException("Expected '" + word + "'");
+			}
+		}
+	}
+}
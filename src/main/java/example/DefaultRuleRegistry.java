@@ -16,6 +16,8 @@ public class DefaultRuleRegistry implements RuleRegistry {
 		rules.add(new EqualsHashCodeRule());
 		rules.add(new RedundantInterfaceRule());
 		rules.add(new NonPublicConstructorRule());
+		rules.add(new PerformanceRule());
+		rules.add(new EscapeAnalysisRule());
 	}
 
 	@Override
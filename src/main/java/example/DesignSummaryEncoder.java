@@ -0,0 +1,289 @@
+package example;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Writes a compact design summary of a class for the advisor. Types in
+ * {@code java.lang} and the class's own package are written by simple name,
+ * common JDK packages are abbreviated, and other types used more than once
+ * get a short alias; the legend at the top lists the abbreviations used.
+ * Output can be JSON-escaped as it is written, so it goes straight into a
+ * request body. Instances reuse their working state and are not thread-safe.
+ */
+public class DesignSummaryEncoder {
+
+	private static final Map<String, String> PACKAGE_ABBREVIATIONS = Map.of(
+			"java.util", "ju",
+			"java.util.concurrent", "juc",
+			"java.util.function", "juf",
+			"java.util.stream", "jus",
+			"java.io", "jio",
+			"java.nio", "jn",
+			"java.nio.file", "jnf",
+			"java.time", "jt",
+			"java.net", "jnet",
+			"java.math", "jm");
+
+	private static final String JAVA_LANG = "java.lang";
+	private static final String ALIAS_PREFIX = "T";
+
+	private final Map<String, Integer> typeCounts = new LinkedHashMap<>();
+	private final Map<String, String> aliases = new LinkedHashMap<>();
+	private final Map<String, String> usedAbbreviations = new TreeMap<>();
+	private final List<MethodNode> methods = new ArrayList<>();
+	private String ownPackage;
+	private StringBuilder out;
+	private boolean json;
+
+	/**
+	 * Append the summary of {@code classNode} to {@code out}, escaped for use
+	 * inside a JSON string when {@code json} is true.
+	 */
+	@SuppressWarnings("unchecked")
+	public void encode(ClassNode classNode, StringBuilder out, boolean json) {
+		this.out = out;
+		this.json = json;
+		String className = TypeNames.objectClassName(classNode.name);
+		int lastDot = className.lastIndexOf('.');
+		ownPackage = lastDot < 0 ? "" : className.substring(0, lastDot);
+		collectTypes(classNode);
+
+		text("Class: ").name(className).newline();
+		writeLegend();
+
+		if (classNode.superName != null && !"java/lang/Object".equals(classNode.superName)) {
+			text("Extends: ").type(TypeNames.objectClassName(classNode.superName)).newline();
+		}
+		List<String> interfaces = (List<String>) classNode.interfaces;
+		if (!interfaces.isEmpty()) {
+			text("Implements: ");
+			for (int i = 0; i < interfaces.size(); i++) {
+				if (i > 0) {
+					text(", ");
+				}
+				type(TypeNames.objectClassName(interfaces.get(i)));
+			}
+			newline();
+		}
+
+		text("Fields: ");
+		List<FieldNode> fields = (List<FieldNode>) classNode.fields;
+		if (fields.isEmpty()) {
+			text("none");
+		}
+		for (int i = 0; i < fields.size(); i++) {
+			if (i > 0) {
+				text(", ");
+			}
+			FieldNode field = fields.get(i);
+			name(field.name).text(":").type(TypeNames.className(field.desc));
+		}
+		newline();
+
+		text("Methods: ");
+		if (methods.isEmpty()) {
+			text("none");
+		}
+		for (int i = 0; i < methods.size(); i++) {
+			if (i > 0) {
+				text(", ");
+			}
+			MethodNode method = methods.get(i);
+			TypeNames.MethodTypeNames types = TypeNames.method(method.desc);
+			name(method.name).text("(");
+			List<String> arguments = types.argumentTypes();
+			for (int a = 0; a < arguments.size(); a++) {
+				if (a > 0) {
+					text(",");
+				}
+				type(arguments.get(a));
+			}
+			text("):").type(types.returnType());
+		}
+		newline();
+
+		this.out = null;
+	}
+
+	/**
+	 * The summary as plain text.
+	 */
+	public String encode(ClassNode classNode) {
+		StringBuilder sb = new StringBuilder(256);
+		encode(classNode, sb, false);
+		return sb.toString();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void collectTypes(ClassNode classNode) {
+		typeCounts.clear();
+		aliases.clear();
+		usedAbbreviations.clear();
+		methods.clear();
+
+		if (classNode.superName != null) {
+			count(TypeNames.objectClassName(classNode.superName));
+		}
+		for (String interfaceName : (List<String>) classNode.interfaces) {
+			count(TypeNames.objectClassName(interfaceName));
+		}
+		for (FieldNode field : (List<FieldNode>) classNode.fields) {
+			count(TypeNames.className(field.desc));
+		}
+		for (MethodNode method : (List<MethodNode>) classNode.methods) {
+			if (method.name.startsWith("<")) {
+				continue;
+			}
+			methods.add(method);
+			TypeNames.MethodTypeNames types = TypeNames.method(method.desc);
+			for (String argument : types.argumentTypes()) {
+				count(argument);
+			}
+			count(types.returnType());
+		}
+
+		for (Map.Entry<String, Integer> entry : typeCounts.entrySet()) {
+			if (entry.getValue() > 1) {
+				aliases.put(entry.getKey(), ALIAS_PREFIX + (aliases.size() + 1));
+			}
+		}
+	}
+
+	/**
+	 * Count a type that would otherwise be written fully qualified, and note
+	 * which package abbreviations the summary will use.
+	 */
+	private void count(String typeName) {
+		String element = elementType(typeName);
+		int lastDot = element.lastIndexOf('.');
+		if (lastDot < 0) {
+			return;
+		}
+		String packageName = element.substring(0, lastDot);
+		if (packageName.equals(JAVA_LANG) || packageName.equals(ownPackage)) {
+			return;
+		}
+		String abbreviation = PACKAGE_ABBREVIATIONS.get(packageName);
+		if (abbreviation != null) {
+			usedAbbreviations.put(abbreviation, packageName);
+			return;
+		}
+		typeCounts.merge(element, 1, Integer::sum);
+	}
+
+	private void writeLegend() {
+		if (usedAbbreviations.isEmpty() && aliases.isEmpty()) {
+			return;
+		}
+		text("Legend: ");
+		boolean first = true;
+		for (Map.Entry<String, String> entry : usedAbbreviations.entrySet()) {
+			if (!first) {
+				text(", ");
+			}
+			first = false;
+			text(entry.getKey()).text("=").name(entry.getValue());
+		}
+		for (Map.Entry<String, String> entry : aliases.entrySet()) {
+			if (!first) {
+				text(", ");
+			}
+			first = false;
+			text(entry.getValue()).text("=").name(entry.getKey());
+		}
+		newline();
+	}
+
+	private DesignSummaryEncoder type(String typeName) {
+		String element = elementType(typeName);
+		String alias = aliases.get(element);
+		if (alias != null) {
+			text(alias);
+		} else {
+			int lastDot = element.lastIndexOf('.');
+			String packageName = lastDot < 0 ? "" : element.substring(0, lastDot);
+			if (lastDot < 0 || packageName.equals(JAVA_LANG) || packageName.equals(ownPackage)) {
+				name(element.substring(lastDot + 1));
+			} else {
+				String abbreviation = PACKAGE_ABBREVIATIONS.get(packageName);
+				if (abbreviation != null) {
+					text(abbreviation).text(".").name(element.substring(lastDot + 1));
+				} else {
+					name(element);
+				}
+			}
+		}
+		out.append(typeName, element.length(), typeName.length());
+		return this;
+	}
+
+	private static String elementType(String typeName) {
+		int bracket = typeName.indexOf('[');
+		return bracket < 0 ? typeName : typeName.substring(0, bracket);
+	}
+
+	private DesignSummaryEncoder newline() {
+		out.append(json ? "\\n" : "\n");
+		return this;
+	}
+
+	/**
+	 * Fixed text that never needs escaping.
+	 */
+	private DesignSummaryEncoder text(String text) {
+		out.append(text);
+		return this;
+	}
+
+	/**
+	 * A name from the class file, escaped when writing JSON.
+	 */
+	private DesignSummaryEncoder name(String name) {
+		if (json) {
+			appendJsonEscaped(out, name);
+		} else {
+			out.append(name);
+		}
+		return this;
+	}
+
+	/**
+	 * Append {@code value} escaped for the inside of a JSON string literal.
+	 */
+	static void appendJsonEscaped(StringBuilder out, CharSequence value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"':
+				out.append("\\\"");
+				break;
+			case '\\':
+				out.append("\\\\");
+				break;
+			case '\n':
+				out.append("\\n");
+				break;
+			case '\r':
+				out.append("\\r");
+				break;
+			case '\t':
+				out.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					out.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+				} else {
+					out.append(c);
+				}
+			}
+		}
+	}
+}
@@ -12,6 +12,13 @@ import org.objectweb.asm.tree.MethodNode;
  */
 public class EqualsHashCodeRule extends RuleTemplate {
 
+	public static final String ID = "equals-hashcode";
+
+	@Override
+	public String id() {
+		return ID;
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	protected List<Violation> collectViolations(ClassNode node) {
@@ -30,7 +37,7 @@ public class EqualsHashCodeRule extends RuleTemplate {
 			}
 		}
 
-		String simpleName = simpleClassName(node.name);
+		String simpleName = TypeNames.simpleName(node.name);
 		if (definesEquals && !definesHashCode) {
 			violations.add(new Violation(Violation.Target.CLASS, simpleName,
 					"Class " + simpleName + " defines equals(Object) but not hashCode()."));
@@ -41,9 +48,4 @@ public class EqualsHashCodeRule extends RuleTemplate {
 
 		return violations;
 	}
-
-	private String simpleClassName(String internalName) {
-		int lastSlash = internalName.lastIndexOf('/');
-		return lastSlash >= 0 ? internalName.substring(lastSlash + 1) : internalName;
-	}
 }
@@ -0,0 +1,233 @@
+package example;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+import org.objectweb.asm.tree.analysis.Analyzer;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+
+/**
+ * Lint rule that runs an asm-analysis dataflow pass over each method to hint at
+ * allocation behaviour: objects that never leave the method (candidates for
+ * JIT scalar replacement) and objects allocated in a loop that escape through
+ * a field store. Analysis is capped per method by instruction count and time,
+ * and methods over either cap are skipped.
+ *
+ * <p>A constructor call does not make the new object escape when the
+ * constructor is proven not to store or pass on {@code this}: the constructor
+ * is analyzed in turn, following its {@code super(...)} or {@code this(...)}
+ * chain. Constructors of other classes are read from the classpath, and the
+ * answers are cached.
+ */
+public class EscapeAnalysisRule extends RuleTemplate implements MemorySensitive {
+
+	public static final String ID = "escape-analysis";
+
+	static final int DEFAULT_MAX_INSTRUCTIONS = 5_000;
+	static final long DEFAULT_MAX_MILLIS_PER_METHOD = 50;
+	static final int MAX_CACHED_CONSTRUCTORS = 16_384;
+
+	private final int maxInstructions;
+	private final long maxNanosPerMethod;
+	private final ConcurrentHashMap<String, Boolean> constructorKeepsReceiver = new ConcurrentHashMap<>();
+
+	public EscapeAnalysisRule() {
+		this(DEFAULT_MAX_INSTRUCTIONS, DEFAULT_MAX_MILLIS_PER_METHOD);
+	}
+
+	public EscapeAnalysisRule(int maxInstructions, long maxMillisPerMethod) {
+		this.maxInstructions = maxInstructions;
+		this.maxNanosPerMethod = TimeUnit.MILLISECONDS.toNanos(maxMillisPerMethod);
+	}
+
+	@Override
+	public String id() {
+		return ID;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected List<Violation> collectViolations(ClassNode node) {
+		List<Violation> violations = new ArrayList<>();
+		String simpleName = TypeNames.simpleName(node.name);
+		Set<String> nonLeakingOwnMethods = null;
+
+		for (MethodNode method : (List<MethodNode>) node.methods) {
+			if (!shouldAnalyze(method)) {
+				continue;
+			}
+			if (nonLeakingOwnMethods == null) {
+				nonLeakingOwnMethods = privateAndFinalMethods(node);
+			}
+			EscapeInterpreter interpreter = new EscapeInterpreter(method.instructions, node.name,
+					nonLeakingOwnMethods, (owner, descriptor) -> constructorKeepsReceiver(node, owner, descriptor),
+					System.nanoTime() + maxNanosPerMethod);
+			try {
+				new Analyzer<>(interpreter).analyze(node.name, method);
+			} catch (AnalyzerException e) {
+				if (e.getCause() instanceof RuleTimeoutException) {
+					// The whole rule is out of time, not just this method.
+					throw (RuleTimeoutException) e.getCause();
+				}
+				// Over budget or unverifiable bytecode: no reliable answer for this method.
+				continue;
+			}
+			report(violations, simpleName + "#" + method.name, method.instructions, interpreter);
+		}
+
+		return violations;
+	}
+
+	@Override
+	public void releaseMemory() {
+		constructorKeepsReceiver.clear();
+	}
+
+	/**
+	 * Whether the constructor never stores or passes on {@code this}. The
+	 * analyzed class's own constructors come from {@code context}; others are
+	 * read from the classpath, and an unreadable one is assumed to leak.
+	 */
+	private boolean constructorKeepsReceiver(ClassNode context, String owner, String descriptor) {
+		String key = owner + '.' + descriptor;
+		Boolean cached = constructorKeepsReceiver.get(key);
+		if (cached != null) {
+			return cached;
+		}
+		// Assume a leak while this constructor is analyzed, so a cycle ends.
+		constructorKeepsReceiver.put(key, Boolean.FALSE);
+		boolean keeps = false;
+		try {
+			ClassNode classNode = owner.equals(context.name) ? context : loadClass(owner);
+			MethodNode constructor = classNode == null ? null : findConstructor(classNode, descriptor);
+			keeps = constructor != null && provesReceiverKept(classNode, constructor, context);
+		} finally {
+			if (constructorKeepsReceiver.size() >= MAX_CACHED_CONSTRUCTORS) {
+				constructorKeepsReceiver.clear();
+			}
+			constructorKeepsReceiver.put(key, keeps);
+		}
+		return keeps;
+	}
+
+	private boolean provesReceiverKept(ClassNode classNode, MethodNode constructor, ClassNode context) {
+		if (constructor.instructions.size() > maxInstructions) {
+			return false;
+		}
+		EscapeInterpreter.ConstructorCheck constructors =
+				(owner, descriptor) -> constructorKeepsReceiver(context, owner, descriptor);
+		EscapeInterpreter interpreter = new EscapeInterpreter(constructor.instructions, classNode.name,
+				privateAndFinalMethods(classNode), constructors, System.nanoTime() + maxNanosPerMethod)
+				.trackReceiver();
+		try {
+			new Analyzer<>(interpreter).analyze(classNode.name, constructor);
+		} catch (AnalyzerException e) {
+			if (e.getCause() instanceof RuleTimeoutException) {
+				throw (RuleTimeoutException) e.getCause();
+			}
+			return false;
+		}
+		return !interpreter.receiverEscaped();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static MethodNode findConstructor(ClassNode classNode, String descriptor) {
+		for (MethodNode method : (List<MethodNode>) classNode.methods) {
+			if ("<init>".equals(method.name) && descriptor.equals(method.desc)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private static ClassNode loadClass(String internalName) {
+		ClassNode classNode = new ClassNode();
+		try {
+			new ClassReader(internalName).accept(classNode, ClassReader.SKIP_DEBUG | ClassReader.EXPAND_FRAMES);
+			return classNode;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Name and descriptor of the instance methods that cannot be overridden,
+	 * whose bodies are this class's own code.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Set<String> privateAndFinalMethods(ClassNode node) {
+		Set<String> methods = new HashSet<>();
+		for (MethodNode method : (List<MethodNode>) node.methods) {
+			if ((method.access & (Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL)) != 0 && !"<init>".equals(method.name)) {
+				methods.add(method.name + method.desc);
+			}
+		}
+		return methods;
+	}
+
+	private boolean shouldAnalyze(MethodNode method) {
+		if ((method.access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) != 0) {
+			return false;
+		}
+		InsnList instructions = method.instructions;
+		if (instructions.size() == 0 || instructions.size() > maxInstructions) {
+			return false;
+		}
+		for (AbstractInsnNode insn = instructions.getFirst(); insn != null; insn = insn.getNext()) {
+			if (insn.getOpcode() == Opcodes.NEW) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void report(List<Violation> violations, String methodName, InsnList instructions,
+			EscapeInterpreter interpreter) {
+		BitSet local = (BitSet) interpreter.allocated().clone();
+		local.andNot(interpreter.escaped());
+		if (!local.isEmpty()) {
+			violations.add(new Violation(Violation.Target.METHOD, methodName,
+					"Allocations of " + typeNames(instructions, local)
+							+ " never escape the method; candidates for scalar replacement"));
+		}
+
+		BitSet fieldEscapes = interpreter.fieldEscapes();
+		if (fieldEscapes.isEmpty()) {
+			return;
+		}
+		boolean[] loopBody = LoopDetector.loopBody(instructions);
+		BitSet hot = new BitSet();
+		for (int site = fieldEscapes.nextSetBit(0); site >= 0; site = fieldEscapes.nextSetBit(site + 1)) {
+			if (loopBody[site]) {
+				hot.set(site);
+			}
+		}
+		if (!hot.isEmpty()) {
+			violations.add(new Violation(Violation.Target.METHOD, methodName,
+					"Allocations of " + typeNames(instructions, hot)
+							+ " inside a loop escape through a field; each iteration publishes a new heap object"));
+		}
+	}
+
+	private String typeNames(InsnList instructions, BitSet sites) {
+		Set<String> names = new LinkedHashSet<>();
+		for (int site = sites.nextSetBit(0); site >= 0; site = sites.nextSetBit(site + 1)) {
+			names.add(TypeNames.simpleName(((TypeInsnNode) instructions.get(site)).desc));
+		}
+		return String.join(", ", names);
+	}
+}
@@ -0,0 +1,287 @@
+package example;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.BasicInterpreter;
+import org.objectweb.asm.tree.analysis.BasicValue;
+import org.objectweb.asm.tree.analysis.Interpreter;
+
+/**
+ * Dataflow interpreter that tracks which {@code NEW} allocation sites each
+ * stack slot and local may hold, and records the sites that escape the method:
+ * stored into a field or array, returned, thrown, or passed as an argument.
+ * The receiver of a call escapes too, since a constructor or method can
+ * publish {@code this}, unless the callee is known not to leak it: a few JDK
+ * classes, private or final methods of the class being analyzed, and
+ * constructors that the {@link ConstructorCheck} proves keep their receiver.
+ * Result slot sizes are delegated to {@link BasicInterpreter}.
+ *
+ * <p>The same interpreter proves constructors: with {@link #trackReceiver()},
+ * {@code this} is the only tracked value, and the constructor keeps its
+ * receiver if {@code this} does not escape.
+ */
+class EscapeInterpreter extends Interpreter<EscapeValue> {
+
+	private static final int CHECK_INTERVAL = 256;
+
+	/**
+	 * Classes whose methods and constructors never store or publish their
+	 * receiver. Methods of these classes that return the receiver type, like
+	 * {@code StringBuilder.append}, are treated as returning the receiver.
+	 */
+	private static final Set<String> NON_LEAKING_CLASSES = Set.of(
+			"java/lang/StringBuilder",
+			"java/lang/StringBuffer");
+
+	private final BasicInterpreter basic = new BasicInterpreter();
+	private final InsnList instructions;
+	private final String owner;
+	private final Set<String> nonLeakingOwnMethods;
+	private final ConstructorCheck constructors;
+	private final long deadline;
+	private final BitSet allocated = new BitSet();
+	private final BitSet escaped = new BitSet();
+	private final BitSet fieldEscapes = new BitSet();
+	private int receiverSite = -1;
+	private int operations;
+
+	/**
+	 * Decides whether a constructor, given by its class's internal name and
+	 * its descriptor, never stores or passes on {@code this}.
+	 */
+	@FunctionalInterface
+	interface ConstructorCheck {
+		boolean keepsReceiver(String owner, String descriptor);
+	}
+
+	/**
+	 * @param owner internal name of the class being analyzed
+	 * @param nonLeakingOwnMethods name and descriptor of the owner's private
+	 *            and final methods, whose receiver is not treated as escaping
+	 * @param constructors decides for constructors of other classes and of
+	 *            the owner
+	 */
+	EscapeInterpreter(InsnList instructions, String owner, Set<String> nonLeakingOwnMethods,
+			ConstructorCheck constructors, long deadline) {
+		super(Opcodes.ASM9);
+		this.instructions = instructions;
+		this.owner = owner;
+		this.nonLeakingOwnMethods = nonLeakingOwnMethods;
+		this.constructors = constructors;
+		this.deadline = deadline;
+	}
+
+	/**
+	 * Track {@code this} instead of allocation sites, for proving that the
+	 * analyzed constructor keeps its receiver. Call before analysis.
+	 */
+	EscapeInterpreter trackReceiver() {
+		receiverSite = instructions.size();
+		return this;
+	}
+
+	/**
+	 * Whether {@code this} escaped; only meaningful with {@link #trackReceiver()}.
+	 */
+	boolean receiverEscaped() {
+		return escaped.get(receiverSite);
+	}
+
+	BitSet allocated() {
+		return allocated;
+	}
+
+	BitSet escaped() {
+		return escaped;
+	}
+
+	/**
+	 * Allocation sites that escape through a field store.
+	 */
+	BitSet fieldEscapes() {
+		return fieldEscapes;
+	}
+
+	@Override
+	public EscapeValue newValue(Type type) {
+		if (type == null) {
+			return EscapeValue.UNINITIALIZED;
+		}
+		if (type.getSort() == Type.VOID) {
+			return null;
+		}
+		return EscapeValue.ofSize(type.getSize());
+	}
+
+	@Override
+	public EscapeValue newParameterValue(boolean isInstanceMethod, int local, Type type) {
+		if (receiverSite >= 0 && isInstanceMethod && local == 0) {
+			return EscapeValue.allocation(receiverSite);
+		}
+		return newValue(type);
+	}
+
+	@Override
+	public EscapeValue newOperation(AbstractInsnNode insn) throws AnalyzerException {
+		tick();
+		if (insn.getOpcode() == Opcodes.NEW && receiverSite < 0) {
+			int site = instructions.indexOf(insn);
+			allocated.set(site);
+			return EscapeValue.allocation(site);
+		}
+		return wrap(basic.newOperation(insn));
+	}
+
+	@Override
+	public EscapeValue copyOperation(AbstractInsnNode insn, EscapeValue value) {
+		tick();
+		return value;
+	}
+
+	@Override
+	public EscapeValue unaryOperation(AbstractInsnNode insn, EscapeValue value) throws AnalyzerException {
+		tick();
+		switch (insn.getOpcode()) {
+		case Opcodes.CHECKCAST:
+			return value;
+		case Opcodes.PUTSTATIC:
+			escape(value);
+			fieldEscape(value);
+			return null;
+		case Opcodes.ATHROW:
+			escape(value);
+			return null;
+		default:
+			return wrap(basic.unaryOperation(insn, BasicValue.REFERENCE_VALUE));
+		}
+	}
+
+	@Override
+	public EscapeValue binaryOperation(AbstractInsnNode insn, EscapeValue value1, EscapeValue value2)
+			throws AnalyzerException {
+		tick();
+		if (insn.getOpcode() == Opcodes.PUTFIELD) {
+			escape(value2);
+			fieldEscape(value2);
+			return null;
+		}
+		return wrap(basic.binaryOperation(insn, BasicValue.REFERENCE_VALUE, BasicValue.REFERENCE_VALUE));
+	}
+
+	@Override
+	public EscapeValue ternaryOperation(AbstractInsnNode insn, EscapeValue value1, EscapeValue value2,
+			EscapeValue value3) {
+		tick();
+		if (insn.getOpcode() == Opcodes.AASTORE) {
+			escape(value3);
+		}
+		return null;
+	}
+
+	@Override
+	public EscapeValue naryOperation(AbstractInsnNode insn, List<? extends EscapeValue> values)
+			throws AnalyzerException {
+		tick();
+		int opcode = insn.getOpcode();
+		boolean hasReceiver = opcode == Opcodes.INVOKEVIRTUAL || opcode == Opcodes.INVOKESPECIAL
+				|| opcode == Opcodes.INVOKEINTERFACE;
+		// Only a tracked receiver needs the callee looked at.
+		boolean receiverKept = hasReceiver && values.get(0).hasSites() && keepsReceiver((MethodInsnNode) insn);
+		if (opcode != Opcodes.MULTIANEWARRAY) {
+			for (int i = receiverKept ? 1 : 0; i < values.size(); i++) {
+				escape(values.get(i));
+			}
+		}
+		if (opcode == Opcodes.INVOKESPECIAL && "<init>".equals(((MethodInsnNode) insn).name)) {
+			return null;
+		}
+		if (receiverKept && returnsReceiver((MethodInsnNode) insn)) {
+			return values.get(0);
+		}
+		List<BasicValue> basicValues = new ArrayList<>(values.size());
+		for (EscapeValue value : values) {
+			basicValues.add(value.getSize() == 2 ? BasicValue.LONG_VALUE : BasicValue.REFERENCE_VALUE);
+		}
+		return wrap(basic.naryOperation(insn, basicValues));
+	}
+
+	@Override
+	public void returnOperation(AbstractInsnNode insn, EscapeValue value, EscapeValue expected) {
+		tick();
+		if (insn.getOpcode() == Opcodes.ARETURN) {
+			escape(value);
+		}
+	}
+
+	@Override
+	public EscapeValue merge(EscapeValue value1, EscapeValue value2) {
+		return value1.merge(value2);
+	}
+
+	/**
+	 * Whether the callee is known not to publish its receiver.
+	 */
+	private boolean keepsReceiver(MethodInsnNode call) {
+		if (NON_LEAKING_CLASSES.contains(call.owner)) {
+			return true;
+		}
+		if ("<init>".equals(call.name)) {
+			return "java/lang/Object".equals(call.owner) || constructors.keepsReceiver(call.owner, call.desc);
+		}
+		return call.owner.equals(owner) && nonLeakingOwnMethods.contains(call.name + call.desc);
+	}
+
+	/**
+	 * Fluent methods such as {@code append} return their receiver, so the
+	 * result aliases the same allocation.
+	 */
+	private static boolean returnsReceiver(MethodInsnNode call) {
+		return NON_LEAKING_CLASSES.contains(call.owner) && call.desc.endsWith(")L" + call.owner + ";");
+	}
+
+	private void escape(EscapeValue value) {
+		if (value != null && value.hasSites()) {
+			escaped.or(value.sites());
+		}
+	}
+
+	private void fieldEscape(EscapeValue value) {
+		if (value != null && value.hasSites()) {
+			fieldEscapes.or(value.sites());
+		}
+	}
+
+	private EscapeValue wrap(BasicValue value) {
+		return value == null ? null : EscapeValue.ofSize(value.getSize());
+	}
+
+	private void tick() {
+		if (++operations % CHECK_INTERVAL == 0) {
+			if (System.nanoTime() > deadline) {
+				throw new AnalysisBudgetExceededException();
+			}
+			RuleDeadline.checkpoint();
+		}
+	}
+
+	/**
+	 * Thrown from inside the analyzer when the per-method time budget runs out.
+	 */
+	static class AnalysisBudgetExceededException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		AnalysisBudgetExceededException() {
+			super("Escape analysis time budget exceeded", null, false, false);
+		}
+	}
+}
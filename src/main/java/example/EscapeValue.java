@@ -0,0 +1,84 @@
+package example;
+
+import java.util.BitSet;
+
+import org.objectweb.asm.tree.analysis.Value;
+
+/**
+ * Abstract value used by {@link EscapeInterpreter}: the slot size plus the set
+ * of allocation sites (instruction indexes of {@code NEW}) the value may hold.
+ * Instances are immutable so the analyzer can share them between frames.
+ */
+final class EscapeValue implements Value {
+
+	static final EscapeValue UNINITIALIZED = new EscapeValue(1, null);
+	static final EscapeValue SINGLE = new EscapeValue(1, null);
+	static final EscapeValue DOUBLE = new EscapeValue(2, null);
+
+	private final int size;
+	private final BitSet sites;
+
+	private EscapeValue(int size, BitSet sites) {
+		this.size = size;
+		this.sites = sites;
+	}
+
+	static EscapeValue ofSize(int size) {
+		return size == 2 ? DOUBLE : SINGLE;
+	}
+
+	static EscapeValue allocation(int site) {
+		BitSet sites = new BitSet();
+		sites.set(site);
+		return new EscapeValue(1, sites);
+	}
+
+	@Override
+	public int getSize() {
+		return size;
+	}
+
+	boolean hasSites() {
+		return sites != null;
+	}
+
+	BitSet sites() {
+		return sites;
+	}
+
+	/**
+	 * Returns this value if it already covers {@code other}, which lets the
+	 * analyzer detect that a frame has stopped changing.
+	 */
+	EscapeValue merge(EscapeValue other) {
+		if (other == this || other.sites == null) {
+			return size == other.size ? this : UNINITIALIZED;
+		}
+		if (size != other.size) {
+			return UNINITIALIZED;
+		}
+		if (sites == null) {
+			return other;
+		}
+		BitSet union = (BitSet) sites.clone();
+		union.or(other.sites);
+		return union.equals(sites) ? this : new EscapeValue(size, union);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof EscapeValue)) {
+			return false;
+		}
+		EscapeValue other = (EscapeValue) o;
+		return size == other.size && (sites == null ? other.sites == null : sites.equals(other.sites));
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * size + (sites == null ? 0 : sites.hashCode());
+	}
+}
@@ -0,0 +1,320 @@
+package example;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes all lint results into one self-contained HTML file. Violations are
+ * streamed to per-column temporary files as they are reported, so memory only
+ * holds the dictionaries and counters; on close the page is assembled from
+ * the pre-aggregated counts (by rule, package and target) and the columns,
+ * and the browser renders the rows lazily in a virtualized table.
+ */
+public class HtmlReporter implements Reporter {
+
+	static final int MAX_MESSAGE_DICTIONARY = 65_536;
+
+	private static final String TEMPLATE = "html-report-template.html";
+	private static final String DATA_PLACEHOLDER = "/*LINT_DATA*/";
+
+	private final Path output;
+	private final List<Column> columns = new ArrayList<>();
+	private final Column classNames;
+	private final Column classPackages;
+	private final Column rowClass;
+	private final Column rowRule;
+	private final Column rowTarget;
+	private final Column rowSeverity;
+	private final Column rowName;
+	private final Column rowMessage;
+
+	private final Dictionary rules = new Dictionary();
+	private final Dictionary packages = new Dictionary();
+	private final Dictionary messages = new Dictionary();
+	private final List<long[]> ruleCounts = new ArrayList<>();
+	private final List<long[]> packageCounts = new ArrayList<>();
+	private final long[] targetCounts = new long[Violation.Target.values().length];
+	private final long[] severityCounts = new long[Severity.values().length];
+	private long classesScanned;
+	private int classesWithViolations;
+	private long rows;
+
+	public HtmlReporter(Path output) throws IOException {
+		this.output = output.toAbsolutePath();
+		Files.createDirectories(this.output.getParent());
+		classNames = column("classes");
+		classPackages = column("classPackages");
+		rowClass = column("c");
+		rowRule = column("r");
+		rowTarget = column("t");
+		rowSeverity = column("s");
+		rowName = column("n");
+		rowMessage = column("m");
+	}
+
+	@Override
+	public void report(String className, LintResult result) {
+		classesScanned++;
+		if (result == null || !result.hasErrors()) {
+			return;
+		}
+		int classIndex = classesWithViolations++;
+		int lastDot = className.lastIndexOf('.');
+		int packageIndex = packages.indexOf(lastDot >= 0 ? className.substring(0, lastDot) : "");
+		count(packageCounts, packageIndex, result.getViolations().size());
+		try {
+			classNames.string(className);
+			classPackages.number(packageIndex);
+			for (Violation violation : result.getViolations()) {
+				int ruleIndex = rules.indexOf(violation.getRuleId() == null ? "" : violation.getRuleId());
+				count(ruleCounts, ruleIndex, 1);
+				targetCounts[violation.getTarget().ordinal()]++;
+				severityCounts[violation.getSeverity().ordinal()]++;
+
+				rowClass.number(classIndex);
+				rowRule.number(ruleIndex);
+				rowTarget.number(violation.getTarget().ordinal());
+				rowSeverity.number(violation.getSeverity().ordinal());
+				rowName.string(violation.getName());
+				// Messages repeat heavily, so they are dictionary-coded until the
+				// dictionary is full; later distinct messages are stored inline.
+				String message = violation.getMessage();
+				int messageIndex = messages.size() < MAX_MESSAGE_DICTIONARY ? messages.indexOf(message)
+						: messages.find(message);
+				if (messageIndex >= 0) {
+					rowMessage.number(messageIndex);
+				} else {
+					rowMessage.string(message);
+				}
+				rows++;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not write HTML report " + output, e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			for (Column column : columns) {
+				column.writer.close();
+			}
+			String template = loadTemplate();
+			int placeholder = template.indexOf(DATA_PLACEHOLDER);
+			try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+				out.write(template, 0, placeholder);
+				writeData(out);
+				out.write(template, placeholder + DATA_PLACEHOLDER.length(),
+						template.length() - placeholder - DATA_PLACEHOLDER.length());
+			}
+		} finally {
+			for (Column column : columns) {
+				Files.deleteIfExists(column.file);
+			}
+		}
+	}
+
+	private void writeData(Writer out) throws IOException {
+		out.write("{\"classesScanned\":");
+		out.write(Long.toString(classesScanned));
+		out.write(",\"rowCount\":");
+		out.write(Long.toString(rows));
+		out.write(",\"rules\":");
+		writeStrings(out, rules.values);
+		out.write(",\"packages\":");
+		writeStrings(out, packages.values);
+		out.write(",\"targets\":");
+		writeStrings(out, enumNames(Violation.Target.values()));
+		out.write(",\"severities\":");
+		writeStrings(out, enumNames(Severity.values()));
+		out.write(",\"messages\":");
+		writeStrings(out, messages.values);
+		out.write(",\"counts\":{\"rule\":");
+		writeCounts(out, ruleCounts);
+		out.write(",\"package\":");
+		writeCounts(out, packageCounts);
+		out.write(",\"target\":");
+		writeNumbers(out, targetCounts);
+		out.write(",\"severity\":");
+		writeNumbers(out, severityCounts);
+		out.write("}");
+		for (Column column : columns) {
+			out.write(",\"");
+			out.write(column.name);
+			out.write("\":[");
+			try (Reader in = Files.newBufferedReader(column.file, StandardCharsets.UTF_8)) {
+				in.transferTo(out);
+			}
+			out.write("]");
+		}
+		out.write("}");
+	}
+
+	private Column column(String name) throws IOException {
+		Path file = Files.createTempFile(output.getParent(), ".lint-" + name + "-", ".json");
+		Column column = new Column(name, file, Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+		columns.add(column);
+		return column;
+	}
+
+	private static void count(List<long[]> counts, int index, int amount) {
+		while (counts.size() <= index) {
+			counts.add(new long[1]);
+		}
+		counts.get(index)[0] += amount;
+	}
+
+	private static List<String> enumNames(Enum<?>[] values) {
+		List<String> names = new ArrayList<>(values.length);
+		for (Enum<?> value : values) {
+			names.add(value.name());
+		}
+		return names;
+	}
+
+	private static void writeStrings(Writer out, List<String> values) throws IOException {
+		out.write('[');
+		for (int i = 0; i < values.size(); i++) {
+			if (i > 0) {
+				out.write(',');
+			}
+			writeJsonString(out, values.get(i));
+		}
+		out.write(']');
+	}
+
+	private static void writeCounts(Writer out, List<long[]> counts) throws IOException {
+		out.write('[');
+		for (int i = 0; i < counts.size(); i++) {
+			if (i > 0) {
+				out.write(',');
+			}
+			out.write(Long.toString(counts.get(i)[0]));
+		}
+		out.write(']');
+	}
+
+	private static void writeNumbers(Writer out, long[] numbers) throws IOException {
+		out.write('[');
+		for (int i = 0; i < numbers.length; i++) {
+			if (i > 0) {
+				out.write(',');
+			}
+			out.write(Long.toString(numbers[i]));
+		}
+		out.write(']');
+	}
+
+	/**
+	 * JSON string literal that is also safe inside a {@code <script>} element.
+	 */
+	static void writeJsonString(Writer out, String value) throws IOException {
+		out.write('"');
+		if (value != null) {
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				switch (c) {
+				case '"':
+					out.write("\\\"");
+					break;
+				case '\\':
+					out.write("\\\\");
+					break;
+				case '\n':
+					out.write("\\n");
+					break;
+				case '\r':
+					out.write("\\r");
+					break;
+				case '\t':
+					out.write("\\t");
+					break;
+				case '<':
+					out.write("\\u003c");
+					break;
+				default:
+					if (c < 0x20 || c == 0x2028 || c == 0x2029) {
+						out.write(String.format("\\u%04x", (int) c));
+					} else {
+						out.write(c);
+					}
+				}
+			}
+		}
+		out.write('"');
+	}
+
+	private String loadTemplate() throws IOException {
+		try (InputStream in = HtmlReporter.class.getResourceAsStream(TEMPLATE)) {
+			if (in == null) {
+				throw new IOException("Missing resource " + TEMPLATE);
+			}
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private static final class Column {
+		private final String name;
+		private final Path file;
+		private final BufferedWriter writer;
+		private boolean empty = true;
+
+		private Column(String name, Path file, BufferedWriter writer) {
+			this.name = name;
+			this.file = file;
+			this.writer = writer;
+		}
+
+		private void number(long value) throws IOException {
+			separator();
+			writer.write(Long.toString(value));
+		}
+
+		private void string(String value) throws IOException {
+			separator();
+			writeJsonString(writer, value);
+		}
+
+		private void separator() throws IOException {
+			if (!empty) {
+				writer.write(',');
+			}
+			empty = false;
+		}
+	}
+
+	private static final class Dictionary {
+		private final Map<String, Integer> indexes = new HashMap<>();
+		private final List<String> values = new ArrayList<>();
+
+		private int indexOf(String value) {
+			Integer index = indexes.get(value);
+			if (index == null) {
+				index = values.size();
+				indexes.put(value, index);
+				values.add(value);
+			}
+			return index;
+		}
+
+		private int find(String value) {
+			Integer index = indexes.get(value);
+			return index == null ? -1 : index;
+		}
+
+		private int size() {
+			return values.size();
+		}
+	}
+}
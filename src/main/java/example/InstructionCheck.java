@@ -0,0 +1,26 @@
+package example;
+
+import org.objectweb.asm.tree.AbstractInsnNode;
+
+/**
+ * A single bytecode check driven by {@link PerformanceRule}. Checks never walk
+ * the instruction list themselves; the rule walks each method once and feeds
+ * every instruction to all registered checks.
+ */
+public interface InstructionCheck {
+
+	/**
+	 * Called before the first instruction of a method is visited.
+	 */
+	default void beginMethod(MethodScan scan) {}
+
+	/**
+	 * Called for each instruction of the method, in order.
+	 */
+	void visitInsn(MethodScan scan, AbstractInsnNode insn, int index);
+
+	/**
+	 * Called after the last instruction of a method has been visited.
+	 */
+	default void endMethod(MethodScan scan) {}
+}
@@ -6,36 +6,98 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.objectweb.asm.tree.ClassNode;
 
 /**
  * Basic LLM advisor that posts the design summary to an API backed by an
  * environment-provided key. Uses OpenAI's chat completions endpoint.
+ * Advice is cached by a digest of the request, so identical summaries in one
+ * run cost a single call. Not thread-safe: the request buffer is reused.
  */
 public class LLMDesignAdvisor {
 
 	private static final String ENV_API_KEY = "MY_LLM_API_KEY";
 	private static final String OPENAI_URL = "https://api.openai.com/v1/chat/completions";
 	private static final String MODEL = "gpt-4o-mini";
+	private static final int MAX_CACHED_ADVICE = 256;
+
+	private final DesignSummaryEncoder encoder = new DesignSummaryEncoder();
+	private final StringBuilder requestBody = new StringBuilder(4096);
+	private final Map<String, String> adviceByDigest = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_CACHED_ADVICE;
+		}
+	};
 
-	private final HttpClient httpClient = HttpClient.newHttpClient();
+	// Created on first use; building an HttpClient starts its selector thread.
+	private HttpClient httpClient;
+
+	/**
+	 * Ask for advice on a class, sending its compact design summary.
+	 */
+	public String analyzeDesign(ClassNode classNode) {
+		String apiKey = requireApiKey();
+		startRequestBody();
+		encoder.encode(classNode, requestBody, true);
+		finishRequestBody();
+		return adviseCached(apiKey, requestBody.toString());
+	}
 
 	public String analyzeDesign(String designSummary) {
+		String apiKey = requireApiKey();
+		startRequestBody();
+		DesignSummaryEncoder.appendJsonEscaped(requestBody, designSummary);
+		finishRequestBody();
+		return adviseCached(apiKey, requestBody.toString());
+	}
+
+	private String requireApiKey() {
 		String apiKey = System.getenv(ENV_API_KEY);
 		if (apiKey == null || apiKey.isBlank()) {
 			throw new IllegalStateException(
 					"Environment variable " + ENV_API_KEY + " is required for LLM calls");
 		}
+		return apiKey;
+	}
 
-		String requestBody = buildRequestBody(designSummary);
+	private String adviseCached(String apiKey, String body) {
+		String digest = digest(body);
+		String advice = adviceByDigest.get(digest);
+		if (advice == null) {
+			advice = send(apiKey, body);
+			adviceByDigest.put(digest, advice);
+		}
+		return advice;
+	}
+
+	private static String digest(String body) {
+		try {
+			MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+			return Base64.getEncoder().encodeToString(sha256.digest(body.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private String send(String apiKey, String body) {
 		HttpRequest request = HttpRequest.newBuilder()
 				.uri(URI.create(OPENAI_URL))
 				.header("Content-Type", "application/json")
 				.header("Authorization", "Bearer " + apiKey)
-				.POST(HttpRequest.BodyPublishers.ofString(requestBody, StandardCharsets.UTF_8))
+				.POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
 				.build();
 
 		try {
-			HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+			HttpResponse<String> response = httpClient().send(request, HttpResponse.BodyHandlers.ofString());
 			if (response.statusCode() >= 200 && response.statusCode() < 300) {
 				return extractContentFromResponse(response.body());
 			}
@@ -47,24 +109,34 @@ public class LLMDesignAdvisor {
 		}
 	}
 
-	private String buildRequestBody(String designSummary) {
-		String escaped = escapeJson(designSummary);
-		// Minimal JSON payload; no streaming or chat history
-		StringBuilder sb = new StringBuilder();
+	private synchronized HttpClient httpClient() {
+		if (httpClient == null) {
+			httpClient = HttpClient.newHttpClient();
+		}
+		return httpClient;
+	}
+
+	/**
+	 * Start the reused request body up to the opening of the design summary.
+	 * Minimal JSON payload; no streaming or chat history.
+	 */
+	private void startRequestBody() {
+		StringBuilder sb = requestBody;
+		sb.setLength(0);
 		sb.append("{");
 		sb.append("\"model\":\"").append(MODEL).append("\",");
 		sb.append("\"messages\":[");
 		sb.append("{\"role\":\"system\",\"content\":\"You are a Java design reviewer.\"},");
-		sb.append("{\"role\":\"user\",\"content\":\"Analyze this class design, suggest potential improvements, and flag obvious issues. Design summary:\\n")
-				.append(escaped).append("\"}");
+		sb.append("{\"role\":\"user\",\"content\":\"Analyze this class design, suggest potential improvements, and flag obvious issues. ")
+				.append("Design summary (abbreviations are listed under Legend):\\n");
+	}
+
+	private void finishRequestBody() {
+		StringBuilder sb = requestBody;
+		sb.append("\"}");
 		sb.append("],");
 		sb.append("\"temperature\":0.2");
 		sb.append("}");
-		return sb.toString();
-	}
-
-	private String escapeJson(String text) {
-		return text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
 	}
 
 	/**
@@ -1,32 +1,53 @@
 package example;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.objectweb.asm.ClassReader;
-import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.ClassNode;
-import org.objectweb.asm.tree.FieldNode;
-import org.objectweb.asm.tree.MethodNode;
 
 /**
  * Application layer: orchestrates lint, UML, and advice flows.
  */
 public class LintApplication {
 
+	static final String CHANGED_FILES = "changed-files";
+	static final String GIT_DIFF = "git-diff";
+	static final String CLASSES_DIR = "classes-dir";
+	static final String DEFAULT_CLASSES_DIR = "build/classes/java/main";
+	static final String MAX_HEAP_BUDGET = "max-heap-budget";
+	static final String RULE_TIMEOUT_MS = "rule-timeout-ms";
+
+	static final int PRESSURE_CHECK_INTERVAL = 256;
+
 	private final RuleRegistry ruleRegistry;
 	private final Reporter reporter;
 	private final PlantUmlGenerator umlGenerator;
 	private final LLMDesignAdvisor advisor;
+	private final PrintStream out;
 
 	public LintApplication(RuleRegistry ruleRegistry, Reporter reporter, PlantUmlGenerator umlGenerator,
 			LLMDesignAdvisor advisor) {
+		this(ruleRegistry, reporter, umlGenerator, advisor, System.out);
+	}
+
+	/**
+	 * @param out where UML diagrams and advice are printed
+	 */
+	public LintApplication(RuleRegistry ruleRegistry, Reporter reporter, PlantUmlGenerator umlGenerator,
+			LLMDesignAdvisor advisor, PrintStream out) {
 		this.ruleRegistry = ruleRegistry;
 		this.reporter = reporter;
 		this.umlGenerator = umlGenerator;
 		this.advisor = advisor;
+		this.out = out;
 	}
 
 	public void run(Command command) throws IOException {
@@ -36,117 +57,196 @@ public class LintApplication {
 
 		switch (command.getMode()) {
 		case UML:
-			runUml(command.getTargets());
+			runUml(resolveTargets(command));
 			break;
 		case ADVICE:
-			runAdvice(command.getTargets());
+			runAdvice(resolveTargets(command));
+			break;
+		case CLASSPATH:
+			new ClasspathScanner().scan(ClasspathScanner.entries(command.getTargets()), reporter);
 			break;
 		case LINT:
 		default:
-			runLint(command.getTargets());
+			RuleWatchdog watchdog = createWatchdog(command);
+			String budget = command.getOption(MAX_HEAP_BUDGET);
+			if (budget != null) {
+				runLintWithinBudget(resolveTargets(command), MemoryBudget.parseSize(budget), watchdog);
+			} else {
+				runLint(resolveTargets(command), watchdog);
+			}
+			watchdog.printSummary(System.err);
 			break;
 		}
 	}
 
-	private void runLint(List<String> targets) throws IOException {
-		for (String className : targets) {
-			ClassNode classNode = readClassNode(className);
+	static RuleWatchdog createWatchdog(Command command) {
+		String timeout = command.getOption(RULE_TIMEOUT_MS);
+		return timeout == null ? new RuleWatchdog() : new RuleWatchdog(parseMillis(timeout));
+	}
 
-			LintResult result = new LintResult();
-			for (LintRule rule : ruleRegistry.rules()) {
-				List<Violation> violations = rule.check(classNode);
-				result.addAll(violations);
+	/**
+	 * In diff-aware lint mode, replace the targets with the compiled classes
+	 * affected by the changed source files; otherwise use the targets as given,
+	 * with directories expanded to the class files they contain.
+	 */
+	List<String> resolveTargets(Command command) throws IOException {
+		if (command.getMode() != Mode.LINT) {
+			return expandDirectories(command.getTargets());
+		}
+		String changedFiles = command.getOption(CHANGED_FILES);
+		String gitRange = command.getOption(GIT_DIFF);
+		if (changedFiles == null && gitRange == null) {
+			return expandDirectories(command.getTargets());
+		}
+		String classesDir = command.getOption(CLASSES_DIR);
+		Path classes = Paths.get(classesDir == null ? DEFAULT_CLASSES_DIR : classesDir);
+		List<String> changed = new ArrayList<>();
+		if (changedFiles != null) {
+			changed.addAll(ChangeScope.readChangedFiles(changedFiles));
+		}
+		if (gitRange != null) {
+			changed.addAll(ChangeScope.changedFilesFromGit(gitRange, Paths.get("").toAbsolutePath()));
+		}
+		return new ChangeScope(classes).resolve(changed);
+	}
+
+	private static long parseMillis(String value) {
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid rule timeout '" + value + "'", e);
+		}
+	}
+
+	private static List<String> expandDirectories(List<String> targets) throws IOException {
+		List<String> expanded = new ArrayList<>(targets.size());
+		for (String target : targets) {
+			Path path = Paths.get(target);
+			if (!Files.isDirectory(path)) {
+				expanded.add(target);
+				continue;
+			}
+			try (Stream<Path> files = Files.walk(path)) {
+				files.map(Path::toString)
+						.filter(LintApplication::isClassFile)
+						.sorted()
+						.forEach(expanded::add);
 			}
+		}
+		return expanded;
+	}
 
-			reporter.report(className, result);
+	private void runLint(List<String> targets, RuleWatchdog watchdog) throws IOException {
+		for (String target : targets) {
+			ClassNode classNode = readClassNode(target);
+			report(displayName(target, classNode), lint(classNode, watchdog));
+		}
+	}
+
+	LintResult lint(ClassNode classNode, RuleWatchdog watchdog) {
+		return watchdog.check(ruleRegistry.rules(), classNode);
+	}
+
+	void report(String className, LintResult result) {
+		reporter.report(className, result);
+	}
+
+	/**
+	 * Let the budget release the caches of the rules that keep any.
+	 */
+	void registerCaches(MemoryBudget budget) {
+		for (LintRule rule : ruleRegistry.rules()) {
+			LintRule target = rule instanceof ConfiguredRule ? ((ConfiguredRule) rule).getDelegate() : rule;
+			if (target instanceof MemorySensitive) {
+				budget.register((MemorySensitive) target);
+			}
+		}
+	}
+
+	/**
+	 * Lint with bounded memory: classes are parsed by a reader thread into a
+	 * pipeline whose in-flight size is capped by the budget, and caches are
+	 * released when the heap crosses the budget's pressure threshold.
+	 */
+	private void runLintWithinBudget(List<String> targets, long budgetBytes, RuleWatchdog watchdog)
+			throws IOException {
+		try (MemoryBudget budget = new MemoryBudget(budgetBytes);
+				ClassPipeline pipeline = new ClassPipeline(targets, budget.inFlightBytes(),
+						LintApplication::readClassBytes)) {
+			registerCaches(budget);
+			int processed = 0;
+			for (ClassPipeline.Item item = pipeline.next(); item != null; item = pipeline.next()) {
+				LintResult result = lint(item.node(), watchdog);
+				String className = displayName(item.target(), item.node());
+				pipeline.release(item);
+				report(className, result);
+				if (++processed % PRESSURE_CHECK_INTERVAL == 0) {
+					budget.checkPressure();
+				}
+			}
 		}
 	}
 
 	private void runUml(List<String> targets) throws IOException {
 		for (int i = 0; i < targets.size(); i++) {
-			String className = targets.get(i);
-			ClassNode classNode = readClassNode(className);
-			String uml = umlGenerator.generateClassDiagram(classNode);
-			System.out.println(uml);
-			if (i < targets.size() - 1) {
-				System.out.println();
-			}
+			printBlock(diagram(readClassNode(targets.get(i))), i == 0);
 		}
 	}
 
+	String diagram(ClassNode classNode) {
+		return umlGenerator.generateClassDiagram(classNode);
+	}
+
 	private void runAdvice(List<String> targets) throws IOException {
 		for (int i = 0; i < targets.size(); i++) {
-			String className = targets.get(i);
-			ClassNode classNode = readClassNode(className);
-			String summary = buildDesignSummary(classNode);
-			String feedback = advisor.analyzeDesign(summary);
-			System.out.println(feedback);
-			if (i < targets.size() - 1) {
-				System.out.println();
-			}
+			printBlock(advice(readClassNode(targets.get(i))), i == 0);
+		}
+	}
+
+	String advice(ClassNode classNode) {
+		return advisor.analyzeDesign(classNode);
+	}
+
+	/**
+	 * Print one diagram or piece of advice, separated from the previous one by
+	 * a blank line.
+	 */
+	void printBlock(String text, boolean first) {
+		if (!first) {
+			out.println();
 		}
+		out.println(text);
 	}
 
-	private ClassNode readClassNode(String className) throws IOException {
+	/**
+	 * Read a target given either as a class name on the classpath or as a path
+	 * to a {@code .class} file.
+	 */
+	private ClassNode readClassNode(String target) throws IOException {
 		ClassNode classNode = new ClassNode();
-		ClassReader reader = new ClassReader(className);
+		ClassReader reader = new ClassReader(readClassBytes(target));
 		reader.accept(classNode, ClassReader.EXPAND_FRAMES);
 		return classNode;
 	}
 
-	@SuppressWarnings("unchecked")
-	private String buildDesignSummary(ClassNode classNode) {
-		StringBuilder sb = new StringBuilder();
-
-		String name = Type.getObjectType(classNode.name).getClassName();
-		sb.append("Class: ").append(name).append('\n');
-
-		String superName = classNode.superName != null
-				? Type.getObjectType(classNode.superName).getClassName()
-				: "java.lang.Object";
-		sb.append("Superclass: ").append(superName).append('\n');
-
-		List<String> interfaces = ((List<String>) classNode.interfaces).stream()
-				.map(it -> Type.getObjectType(it).getClassName())
-				.collect(Collectors.toList());
-		sb.append("Interfaces: ").append(interfaces.isEmpty() ? "None" : String.join(", ", interfaces)).append('\n');
-
-		sb.append("Fields:\n");
-		List<FieldNode> fields = (List<FieldNode>) classNode.fields;
-		if (fields.isEmpty()) {
-			sb.append("  - None\n");
-		} else {
-			for (FieldNode field : fields) {
-				String fieldType = Type.getType(field.desc).getClassName();
-				sb.append("  - ").append(field.name).append(" : ").append(fieldType).append('\n');
-			}
+	static byte[] readClassBytes(String target) throws IOException {
+		if (isClassFile(target)) {
+			return Files.readAllBytes(Paths.get(target));
 		}
-
-		sb.append("Methods:\n");
-		List<MethodNode> methods = (List<MethodNode>) classNode.methods;
-		List<MethodNode> userMethods = methods.stream()
-				.filter(m -> !m.name.startsWith("<"))
-				.collect(Collectors.toCollection(ArrayList::new));
-		if (userMethods.isEmpty()) {
-			sb.append("  - None\n");
-		} else {
-			for (MethodNode method : userMethods) {
-				String returnType = Type.getReturnType(method.desc).getClassName();
-				String argTypes = formatArgTypes(Type.getArgumentTypes(method.desc));
-				sb.append("  - ").append(method.name).append("(").append(argTypes).append(")")
-						.append(" : ").append(returnType).append('\n');
+		String resource = target.replace('.', '/') + ".class";
+		try (InputStream in = ClassLoader.getSystemResourceAsStream(resource)) {
+			if (in == null) {
+				throw new IOException("Class not found: " + target);
 			}
+			return in.readAllBytes();
 		}
+	}
 
-		return sb.toString();
+	static boolean isClassFile(String target) {
+		return target.endsWith(".class");
 	}
 
-	private String formatArgTypes(Type[] argTypes) {
-		if (argTypes.length == 0) {
-			return "";
-		}
-		return java.util.Arrays.stream(argTypes)
-				.map(Type::getClassName)
-				.collect(Collectors.joining(", "));
+	static String displayName(String target, ClassNode classNode) {
+		return isClassFile(target) ? TypeNames.objectClassName(classNode.name) : target;
 	}
 }
@@ -1,37 +1,133 @@
 package example;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Thin CLI entry that parses args and delegates to the application.
  */
 public class LintCli {
 
+	static final String RULES_CONFIG = "rules-config";
+	static final String BASELINE = "baseline";
+	static final String WRITE_BASELINE = "write-baseline";
+	static final String HTML = "html";
+	static final String CUSTOM_RULES = "custom-rules";
+	static final String BATCH = "batch";
+
+	private static final Set<String> VALUE_OPTIONS = Set.of(RULES_CONFIG, CUSTOM_RULES, BASELINE, WRITE_BASELINE, HTML,
+			BATCH, LintApplication.CHANGED_FILES, LintApplication.GIT_DIFF, LintApplication.CLASSES_DIR,
+			LintApplication.MAX_HEAP_BUDGET, LintApplication.RULE_TIMEOUT_MS);
+
 	public static void main(String[] args) throws Exception {
 		Command command = parse(args);
-		LintApplication app = new LintApplication(
-				new DefaultRuleRegistry(),
-				new ConsoleReporter(),
-				new PlantUmlGenerator(),
-				new LLMDesignAdvisor());
-		app.run(command);
+		if (command.getOption(BATCH) != null) {
+			if (BatchRunner.run(command.getOption(BATCH), command.getOptions()) > 0) {
+				System.exit(1);
+			}
+			return;
+		}
+		if (command.getMode() == Mode.UML || command.getMode() == Mode.ADVICE) {
+			createApplication(command, null).run(command);
+			return;
+		}
+		Reporter reporter = createReporter(command);
+		try (reporter) {
+			createApplication(command, reporter).run(command);
+			complete(reporter);
+		}
+		if (reporter instanceof BaselineFilteringReporter
+				&& ((BaselineFilteringReporter) reporter).getNewViolations() > 0) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Tell a baseline-recording reporter that the run succeeded, so it writes
+	 * the baseline when closed.
+	 */
+	static void complete(Reporter reporter) {
+		if (reporter instanceof BaselineRecordingReporter) {
+			((BaselineRecordingReporter) reporter).complete();
+		}
+	}
+
+	/**
+	 * Build only the components the command's mode uses, so a lint run does not
+	 * load the UML or HTTP classes and an advice run does not load the rules.
+	 */
+	static LintApplication createApplication(Command command, Reporter reporter) throws IOException {
+		return createApplication(command, reporter, System.out);
+	}
+
+	static LintApplication createApplication(Command command, Reporter reporter, PrintStream out)
+			throws IOException {
+		switch (command.getMode()) {
+		case UML:
+			return new LintApplication(null, null, new PlantUmlGenerator(), null, out);
+		case ADVICE:
+			return new LintApplication(null, null, null, new LLMDesignAdvisor(), out);
+		case CLASSPATH:
+			return new LintApplication(null, reporter, null, null, out);
+		case LINT:
+		default:
+			ConfiguredRuleRegistry registry = new ConfiguredRuleRegistry(
+					RuleConfig.load(command.getOption(RULES_CONFIG)));
+			if (command.getOption(CUSTOM_RULES) != null) {
+				registry.addProvider(CustomRules.load(Paths.get(command.getOption(CUSTOM_RULES))));
+			}
+			return new LintApplication(registry, reporter, null, null, out);
+		}
+	}
+
+	static Reporter createReporter(Command command) throws IOException {
+		return createReporter(command, System.out);
+	}
+
+	static Reporter createReporter(Command command, PrintStream out) throws IOException {
+		Reporter reporter = command.getOption(HTML) != null
+				? new HtmlReporter(Paths.get(command.getOption(HTML)))
+				: new ConsoleReporter(out);
+		if (command.getOption(WRITE_BASELINE) != null) {
+			return new BaselineRecordingReporter(reporter, Paths.get(command.getOption(WRITE_BASELINE)));
+		}
+		if (command.getOption(BASELINE) != null) {
+			return new BaselineFilteringReporter(reporter, Baseline.load(Paths.get(command.getOption(BASELINE))));
+		}
+		return reporter;
 	}
 
 	static Command parse(String[] args) {
 		if (args == null || args.length == 0) {
 			return new Command(Mode.LINT, List.of());
 		}
-		String first = args[0];
-		List<String> targets = args.length > 1 ? Arrays.asList(Arrays.copyOfRange(args, 1, args.length))
-				: List.of();
+		Mode mode = Mode.LINT;
+		List<String> targets = new ArrayList<>();
+		Map<String, String> options = new LinkedHashMap<>();
 
-		if ("--llm".equals(first) || "--advice".equals(first)) {
-			return new Command(Mode.ADVICE, targets);
-		}
-		if ("--uml".equals(first)) {
-			return new Command(Mode.UML, targets);
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if ("--llm".equals(arg) || "--advice".equals(arg)) {
+				mode = Mode.ADVICE;
+			} else if ("--uml".equals(arg)) {
+				mode = Mode.UML;
+			} else if ("--classpath-scan".equals(arg)) {
+				mode = Mode.CLASSPATH;
+			} else if (arg.startsWith("--") && VALUE_OPTIONS.contains(arg.substring(2))) {
+				if (i + 1 >= args.length) {
+					throw new IllegalArgumentException("Missing value for " + arg);
+				}
+				options.put(arg.substring(2), args[++i]);
+			} else {
+				targets.add(arg);
+			}
 		}
-		return new Command(Mode.LINT, Arrays.asList(args));
+		return new Command(mode, targets, options);
 	}
 }
@@ -13,4 +13,11 @@ public interface LintRule {
 	 * Inspect the given ClassNode and return any violations found.
 	 */
 	List<Violation> check(ClassNode node);
+
+	/**
+	 * Stable id used to enable, disable and configure the rule.
+	 */
+	default String id() {
+		return getClass().getSimpleName();
+	}
 }
@@ -0,0 +1,52 @@
+package example;
+
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.JumpInsnNode;
+
+/**
+ * Finds instructions that sit inside a loop body, using backward jumps as the
+ * loop marker. javac emits every {@code for}, {@code while} and {@code do}
+ * loop as a jump back to a label at the loop head, so this is enough for
+ * compiled Java without building a full control-flow graph.
+ */
+final class LoopDetector {
+
+	private LoopDetector() {}
+
+	/**
+	 * Returns a flag per instruction index that is {@code true} when the
+	 * instruction lies between a loop head and its backward jump.
+	 */
+	static boolean[] loopBody(InsnList instructions) {
+		int size = instructions.size();
+		boolean[] inLoop = new boolean[size];
+		int[] depth = null;
+
+		int index = 0;
+		for (AbstractInsnNode insn = instructions.getFirst(); insn != null; insn = insn.getNext(), index++) {
+			if (!(insn instanceof JumpInsnNode)) {
+				continue;
+			}
+			int target = instructions.indexOf(((JumpInsnNode) insn).label);
+			if (target > index) {
+				continue;
+			}
+			if (depth == null) {
+				depth = new int[size + 1];
+			}
+			// Difference array keeps nested loops linear in the method size.
+			depth[target]++;
+			depth[index + 1]--;
+		}
+
+		if (depth != null) {
+			int running = 0;
+			for (int i = 0; i < size; i++) {
+				running += depth[i];
+				inLoop[i] = running > 0;
+			}
+		}
+		return inLoop;
+	}
+}
@@ -0,0 +1,145 @@
+package example;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+/**
+ * Heap budget for a lint run. Arms {@link MemoryPoolMXBean} usage thresholds on
+ * the heap pools at a fraction of the budget and releases every registered
+ * {@link MemorySensitive} cache when one of them is crossed. The in-flight
+ * share of the budget bounds how many parsed classes may be queued at once.
+ */
+public class MemoryBudget implements AutoCloseable {
+
+	static final double PRESSURE_FRACTION = 0.75;
+	static final double IN_FLIGHT_FRACTION = 0.25;
+
+	private final long budgetBytes;
+	private final List<MemorySensitive> caches = new CopyOnWriteArrayList<>();
+	private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+	private final NotificationListener listener = this::onNotification;
+	private volatile long releases;
+
+	public MemoryBudget(long budgetBytes) {
+		if (budgetBytes <= 0) {
+			throw new IllegalArgumentException("Heap budget must be positive: " + budgetBytes);
+		}
+		this.budgetBytes = budgetBytes;
+		armThresholds();
+		((NotificationEmitter) memoryBean).addNotificationListener(listener, null, null);
+	}
+
+	/**
+	 * Parse sizes like {@code 512m}, {@code 2g}, {@code 65536k} or plain bytes.
+	 */
+	public static long parseSize(String value) {
+		String text = value.trim().toLowerCase(Locale.ROOT);
+		long multiplier = 1;
+		char unit = text.isEmpty() ? ' ' : text.charAt(text.length() - 1);
+		if (unit == 'k' || unit == 'm' || unit == 'g') {
+			multiplier = unit == 'k' ? 1L << 10 : unit == 'm' ? 1L << 20 : 1L << 30;
+			text = text.substring(0, text.length() - 1);
+		}
+		try {
+			return Long.parseLong(text) * multiplier;
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid heap budget '" + value + "'", e);
+		}
+	}
+
+	public long getBudgetBytes() {
+		return budgetBytes;
+	}
+
+	/**
+	 * Bytes of estimated parsed-class data allowed in flight at once.
+	 */
+	public long inFlightBytes() {
+		return (long) (budgetBytes * IN_FLIGHT_FRACTION);
+	}
+
+	public void register(MemorySensitive cache) {
+		if (cache != null) {
+			caches.add(cache);
+		}
+	}
+
+	/**
+	 * Release caches if current heap use is already past the pressure level.
+	 * Cheap enough to call every few hundred classes as a backstop for pools
+	 * that do not support usage thresholds.
+	 */
+	public void checkPressure() {
+		if (memoryBean.getHeapMemoryUsage().getUsed() > pressureBytes()) {
+			releaseCaches();
+		}
+	}
+
+	public long getReleases() {
+		return releases;
+	}
+
+	@Override
+	public void close() {
+		try {
+			((NotificationEmitter) memoryBean).removeNotificationListener(listener);
+		} catch (ListenerNotFoundException e) {
+			// Already removed.
+		}
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported()) {
+				pool.setUsageThreshold(0);
+			}
+			if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()) {
+				pool.setCollectionUsageThreshold(0);
+			}
+		}
+	}
+
+	private long pressureBytes() {
+		return (long) (budgetBytes * PRESSURE_FRACTION);
+	}
+
+	private void armThresholds() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() != MemoryType.HEAP) {
+				continue;
+			}
+			long max = pool.getUsage().getMax();
+			long threshold = max > 0 ? Math.min(max, pressureBytes()) : pressureBytes();
+			if (pool.isUsageThresholdSupported()) {
+				pool.setUsageThreshold(threshold);
+			}
+			if (pool.isCollectionUsageThresholdSupported()) {
+				pool.setCollectionUsageThreshold(threshold);
+			}
+		}
+	}
+
+	private void onNotification(Notification notification, Object handback) {
+		String type = notification.getType();
+		if (MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(type)
+				|| MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(type)) {
+			releaseCaches();
+		}
+	}
+
+	private void releaseCaches() {
+		releases++;
+		TypeNames.clear();
+		for (MemorySensitive cache : caches) {
+			cache.releaseMemory();
+		}
+	}
+}
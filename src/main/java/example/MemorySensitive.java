@@ -0,0 +1,13 @@
+package example;
+
+/**
+ * Implemented by components that hold caches they can drop when the heap is
+ * under pressure. Caches must stay correct after being released.
+ */
+public interface MemorySensitive {
+
+	/**
+	 * Drop cached data. May be called from a JMX notification thread.
+	 */
+	void releaseMemory();
+}
@@ -0,0 +1,49 @@
+package example;
+
+import java.util.List;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Per-method state shared by all {@link InstructionCheck}s during a single
+ * pass over a method's instructions.
+ */
+public class MethodScan {
+
+	private final ClassNode owner;
+	private final MethodNode method;
+	private final String classSimpleName;
+	private final List<Violation> violations;
+	private boolean[] loopBody;
+
+	MethodScan(ClassNode owner, MethodNode method, String classSimpleName, List<Violation> violations) {
+		this.owner = owner;
+		this.method = method;
+		this.classSimpleName = classSimpleName;
+		this.violations = violations;
+	}
+
+	public ClassNode getOwner() {
+		return owner;
+	}
+
+	public MethodNode getMethod() {
+		return method;
+	}
+
+	/**
+	 * Whether the instruction at {@code index} is inside a loop body. Loop
+	 * bounds are only computed the first time a check asks.
+	 */
+	public boolean inLoop(int index) {
+		if (loopBody == null) {
+			loopBody = LoopDetector.loopBody(method.instructions);
+		}
+		return index < loopBody.length && loopBody[index];
+	}
+
+	public void report(String message) {
+		violations.add(new Violation(Violation.Target.METHOD, classSimpleName + "#" + method.name, message));
+	}
+}
@@ -6,5 +6,6 @@ package example;
 public enum Mode {
 	LINT,
 	UML,
-	ADVICE
+	ADVICE,
+	CLASSPATH
 }
@@ -0,0 +1,59 @@
+package example;
+
+import java.util.regex.Pattern;
+
+/**
+ * Precompiled name test. Globs with a single {@code *} become plain string
+ * comparisons; anything else falls back to a regular expression.
+ */
+interface NameMatcher {
+
+	boolean matches(String name);
+
+	/**
+	 * Compile a glob where {@code *} matches any run of characters and
+	 * {@code ?} matches exactly one.
+	 */
+	static NameMatcher glob(String glob) {
+		if (glob.indexOf('?') < 0) {
+			int star = glob.indexOf('*');
+			if (star < 0) {
+				return glob::equals;
+			}
+			if (glob.equals("*")) {
+				return name -> true;
+			}
+			if (glob.indexOf('*', star + 1) < 0) {
+				String prefix = glob.substring(0, star);
+				String suffix = glob.substring(star + 1);
+				int minLength = prefix.length() + suffix.length();
+				return name -> name.length() >= minLength && name.startsWith(prefix) && name.endsWith(suffix);
+			}
+			if (star == 0 && glob.length() > 2 && glob.indexOf('*', 1) == glob.length() - 1) {
+				String infix = glob.substring(1, glob.length() - 1);
+				return name -> name.contains(infix);
+			}
+		}
+		StringBuilder regex = new StringBuilder();
+		int literalStart = 0;
+		for (int i = 0; i < glob.length(); i++) {
+			char c = glob.charAt(i);
+			if (c == '*' || c == '?') {
+				if (i > literalStart) {
+					regex.append(Pattern.quote(glob.substring(literalStart, i)));
+				}
+				regex.append(c == '*' ? ".*" : ".");
+				literalStart = i + 1;
+			}
+		}
+		if (literalStart < glob.length()) {
+			regex.append(Pattern.quote(glob.substring(literalStart)));
+		}
+		return regex(regex.toString());
+	}
+
+	static NameMatcher regex(String regex) {
+		Pattern pattern = Pattern.compile(regex);
+		return name -> pattern.matcher(name).matches();
+	}
+}
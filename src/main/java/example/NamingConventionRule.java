@@ -15,16 +15,23 @@ import org.objectweb.asm.tree.MethodNode;
  */
 public class NamingConventionRule extends RuleTemplate {
 
+	public static final String ID = "naming";
+
 	private static final Pattern PASCAL_CASE = Pattern.compile("[A-Z][A-Za-z0-9]*");
 	private static final Pattern CAMEL_CASE = Pattern.compile("[a-z][A-Za-z0-9]*");
 	private static final Pattern CONSTANT_CASE = Pattern.compile("[A-Z][A-Z0-9]*(?:_[A-Z0-9]+)*");
 
+	@Override
+	public String id() {
+		return ID;
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	protected List<Violation> collectViolations(ClassNode node) {
 		List<Violation> violations = new ArrayList<>();
 
-		String classSimpleName = simpleClassName(node.name);
+		String classSimpleName = TypeNames.nestedSimpleName(node.name);
 		if (!isPascalCase(classSimpleName)) {
 			violations.add(new Violation(Violation.Target.CLASS, classSimpleName,
 					"Class names should be PascalCase"));
@@ -65,16 +72,6 @@ public class NamingConventionRule extends RuleTemplate {
 		return (access & Opcodes.ACC_STATIC) != 0 && (access & Opcodes.ACC_FINAL) != 0;
 	}
 
-	private String simpleClassName(String internalName) {
-		if (internalName == null || internalName.isEmpty()) {
-			return "";
-		}
-		int slash = internalName.lastIndexOf('/');
-		int dollar = internalName.lastIndexOf('$');
-		int lastSeparator = Math.max(slash, dollar);
-		return lastSeparator >= 0 ? internalName.substring(lastSeparator + 1) : internalName;
-	}
-
 	private boolean isPascalCase(String name) {
 		return PASCAL_CASE.matcher(name).matches();
 	}
@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.objectweb.asm.Opcodes;
-import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
 
@@ -13,6 +12,13 @@ import org.objectweb.asm.tree.MethodNode;
  */
 public class NonPublicConstructorRule extends RuleTemplate {
 
+	public static final String ID = "non-public-constructor";
+
+	@Override
+	public String id() {
+		return ID;
+	}
+
 	@Override
 	protected List<Violation> collectViolations(ClassNode node) {
 		List<Violation> violations = new ArrayList<>();
@@ -20,7 +26,7 @@ public class NonPublicConstructorRule extends RuleTemplate {
 		List<MethodNode> constructors = findConstructors(node);
 
 		if (constructors.isEmpty() || !hasPublicConstructor(constructors)) {
-			String className = Type.getObjectType(node.name).getClassName();
+			String className = TypeNames.objectClassName(node.name);
 			violations.add(new Violation(Violation.Target.CLASS, className,
 					"Class cannot be publicly constructed"));
 		}
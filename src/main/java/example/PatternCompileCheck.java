@@ -0,0 +1,38 @@
+package example;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+
+/**
+ * Flags {@code Pattern.compile} calls outside static initializers, which
+ * recompile the same regular expression on every call.
+ */
+public class PatternCompileCheck implements InstructionCheck {
+
+	private boolean found;
+
+	@Override
+	public void beginMethod(MethodScan scan) {
+		found = false;
+	}
+
+	@Override
+	public void visitInsn(MethodScan scan, AbstractInsnNode insn, int index) {
+		if (found || insn.getOpcode() != Opcodes.INVOKESTATIC) {
+			return;
+		}
+		MethodInsnNode call = (MethodInsnNode) insn;
+		if ("compile".equals(call.name) && "java/util/regex/Pattern".equals(call.owner)
+				&& !"<clinit>".equals(scan.getMethod().name)) {
+			found = true;
+		}
+	}
+
+	@Override
+	public void endMethod(MethodScan scan) {
+		if (found) {
+			scan.report("Pattern.compile called per invocation; hoist the Pattern into a static final field");
+		}
+	}
+}
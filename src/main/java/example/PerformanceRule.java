@@ -0,0 +1,75 @@
+package example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Lint rule that flags performance anti-patterns in method bodies. All
+ * {@link InstructionCheck}s share one walk over each method's instructions,
+ * so adding a check does not add another pass.
+ */
+public class PerformanceRule extends RuleTemplate {
+
+	public static final String ID = "performance";
+
+	private final List<InstructionCheck> checks = new ArrayList<>();
+
+	public PerformanceRule() {
+		checks.add(new BoxingInLoopCheck());
+		checks.add(new StringConcatInLoopCheck());
+		checks.add(new SynchronizedGetterCheck());
+		checks.add(new PatternCompileCheck());
+		checks.add(new UnbufferedStreamCheck());
+	}
+
+	public PerformanceRule(List<InstructionCheck> checks) {
+		if (checks != null) {
+			this.checks.addAll(checks);
+		}
+	}
+
+	public List<InstructionCheck> checks() {
+		return Collections.unmodifiableList(checks);
+	}
+
+	@Override
+	public String id() {
+		return ID;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected List<Violation> collectViolations(ClassNode node) {
+		List<Violation> violations = new ArrayList<>();
+		String simpleName = TypeNames.simpleName(node.name);
+
+		for (MethodNode method : (List<MethodNode>) node.methods) {
+			if ((method.access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) != 0) {
+				continue;
+			}
+			RuleDeadline.checkpoint();
+			MethodScan scan = new MethodScan(node, method, simpleName, violations);
+			for (InstructionCheck check : checks) {
+				check.beginMethod(scan);
+			}
+			int index = 0;
+			for (AbstractInsnNode insn = method.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+				for (InstructionCheck check : checks) {
+					check.visitInsn(scan, insn, index);
+				}
+				index++;
+			}
+			for (InstructionCheck check : checks) {
+				check.endMethod(scan);
+			}
+		}
+
+		return violations;
+	}
+}
@@ -1,10 +1,8 @@
 package example;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.objectweb.asm.Opcodes;
-import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.FieldNode;
 import org.objectweb.asm.tree.MethodNode;
@@ -19,13 +17,13 @@ public final class PlantUmlGenerator {
 
 	@SuppressWarnings("unchecked")
 	public String generateClassDiagram(ClassNode node) {
-		String simpleName = simpleClassName(node.name);
+		String simpleName = TypeNames.simpleName(node.name);
 		StringBuilder sb = new StringBuilder();
 		sb.append("@startuml\n");
 		sb.append("class ").append(simpleName).append(" {\n");
 
 		for (FieldNode field : (List<FieldNode>) node.fields) {
-			String type = Type.getType(field.desc).getClassName();
+			String type = TypeNames.className(field.desc);
 			sb.append("  ")
 					.append(visibilitySymbol(field.access))
 					.append(field.name)
@@ -38,15 +36,14 @@ public final class PlantUmlGenerator {
 			if (method.name.startsWith("<")) {
 				continue;
 			}
-			String args = formatArguments(Type.getArgumentTypes(method.desc));
-			String returnType = Type.getReturnType(method.desc).getClassName();
+			TypeNames.MethodTypeNames types = TypeNames.method(method.desc);
 			sb.append("  ")
 					.append(visibilitySymbol(method.access))
 					.append(method.name)
-					.append("(")
-					.append(args)
-					.append(") : ")
-					.append(returnType)
+					.append("(");
+			appendArguments(sb, types.argumentTypes());
+			sb.append(") : ")
+					.append(types.returnType())
 					.append("\n");
 		}
 
@@ -55,14 +52,14 @@ public final class PlantUmlGenerator {
 		if (node.superName != null && !"java/lang/Object".equals(node.superName)) {
 			sb.append(simpleName)
 					.append(" --|> ")
-					.append(simpleClassName(node.superName))
+					.append(TypeNames.simpleName(node.superName))
 					.append("\n");
 		}
 
 		for (String iface : (List<String>) node.interfaces) {
 			sb.append(simpleName)
 					.append(" ..|> ")
-					.append(simpleClassName(iface))
+					.append(TypeNames.simpleName(iface))
 					.append("\n");
 		}
 
@@ -83,17 +80,12 @@ public final class PlantUmlGenerator {
 		return "~";
 	}
 
-	private static String formatArguments(Type[] argTypes) {
-		List<String> args = new ArrayList<>();
-		for (int i = 0; i < argTypes.length; i++) {
-			Type type = argTypes[i];
-			args.add("arg" + i + " : " + type.getClassName());
+	private static void appendArguments(StringBuilder sb, List<String> argTypes) {
+		for (int i = 0; i < argTypes.size(); i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append("arg").append(i).append(" : ").append(argTypes.get(i));
 		}
-		return String.join(", ", args);
-	}
-
-	private static String simpleClassName(String internalName) {
-		int lastSlash = internalName.lastIndexOf('/');
-		return lastSlash >= 0 ? internalName.substring(lastSlash + 1) : internalName;
 	}
 }
@@ -2,7 +2,10 @@ package example;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
@@ -11,9 +14,21 @@ import org.objectweb.asm.tree.MethodNode;
 
 /**
  * Lint rule that flags interfaces a class implements without overriding any of
- * their abstract methods.
+ * their abstract methods. The abstract methods of each interface are read once
+ * and cached, since the same interfaces are implemented by many classes.
  */
-public class RedundantInterfaceRule extends RuleTemplate {
+public class RedundantInterfaceRule extends RuleTemplate implements MemorySensitive {
+
+	public static final String ID = "redundant-interface";
+
+	static final int MAX_CACHED_INTERFACES = 4_096;
+
+	private final ConcurrentHashMap<String, List<MethodNode>> abstractMethodsByInterface = new ConcurrentHashMap<>();
+
+	@Override
+	public String id() {
+		return ID;
+	}
 
 	@Override
 	@SuppressWarnings("unchecked")
@@ -24,22 +39,21 @@ public class RedundantInterfaceRule extends RuleTemplate {
 		if (interfaces == null || interfaces.isEmpty()) {
 			return violations;
 		}
-		List<MethodNode> classMethods = (List<MethodNode>) node.methods;
+		Set<String> instanceMethods = null;
 
 		for (String interfaceName : interfaces) {
-			ClassNode interfaceNode = loadInterface(interfaceName);
-			if (interfaceNode == null) {
-				continue;
-			}
-
-			List<MethodNode> abstractMethods = collectAbstractMethods(interfaceNode);
+			RuleDeadline.checkpoint();
+			List<MethodNode> abstractMethods = abstractMethods(interfaceName);
 			if (abstractMethods.isEmpty()) {
 				continue;
 			}
 
-			if (!overridesAny(classMethods, abstractMethods)) {
-				String simpleName = simpleClassName(node.name);
-				String readableInterface = interfaceName.replace('/', '.');
+			if (instanceMethods == null) {
+				instanceMethods = instanceMethodKeys((List<MethodNode>) node.methods);
+			}
+			if (!overridesAny(instanceMethods, abstractMethods)) {
+				String simpleName = TypeNames.simpleName(node.name);
+				String readableInterface = TypeNames.objectClassName(interfaceName);
 				violations.add(new Violation(Violation.Target.CLASS, simpleName,
 						"Interface " + readableInterface
 								+ " is implemented but no interface methods are overridden."));
@@ -49,11 +63,33 @@ public class RedundantInterfaceRule extends RuleTemplate {
 		return violations;
 	}
 
+	@Override
+	public void releaseMemory() {
+		abstractMethodsByInterface.clear();
+	}
+
+	/**
+	 * Abstract methods of the interface, or an empty list if it cannot be read.
+	 */
+	private List<MethodNode> abstractMethods(String interfaceName) {
+		List<MethodNode> cached = abstractMethodsByInterface.get(interfaceName);
+		if (cached != null) {
+			return cached;
+		}
+		ClassNode interfaceNode = loadInterface(interfaceName);
+		List<MethodNode> abstractMethods = interfaceNode == null ? List.of() : collectAbstractMethods(interfaceNode);
+		if (abstractMethodsByInterface.size() >= MAX_CACHED_INTERFACES) {
+			abstractMethodsByInterface.clear();
+		}
+		abstractMethodsByInterface.put(interfaceName, abstractMethods);
+		return abstractMethods;
+	}
+
 	private ClassNode loadInterface(String interfaceName) {
 		ClassNode interfaceNode = new ClassNode();
 		try {
 			ClassReader reader = new ClassReader(interfaceName);
-			reader.accept(interfaceNode, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+			reader.accept(interfaceNode, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
 			return interfaceNode;
 		} catch (IOException e) {
 			return null;
@@ -71,22 +107,26 @@ public class RedundantInterfaceRule extends RuleTemplate {
 		return abstractMethods;
 	}
 
-	private boolean overridesAny(List<MethodNode> classMethods, List<MethodNode> interfaceMethods) {
-		for (MethodNode interfaceMethod : interfaceMethods) {
-			for (MethodNode classMethod : classMethods) {
-				if ((classMethod.access & Opcodes.ACC_STATIC) != 0) {
-					continue;
-				}
-				if (interfaceMethod.name.equals(classMethod.name) && interfaceMethod.desc.equals(classMethod.desc)) {
-					return true;
-				}
+	/**
+	 * Name and descriptor of every non-static method, built once per class so
+	 * each interface method is a single hash lookup.
+	 */
+	private static Set<String> instanceMethodKeys(List<MethodNode> classMethods) {
+		Set<String> keys = new HashSet<>(classMethods.size() * 2);
+		for (MethodNode classMethod : classMethods) {
+			if ((classMethod.access & Opcodes.ACC_STATIC) == 0) {
+				keys.add(classMethod.name + classMethod.desc);
 			}
 		}
-		return false;
+		return keys;
 	}
 
-	private String simpleClassName(String internalName) {
-		int lastSlash = internalName.lastIndexOf('/');
-		return lastSlash >= 0 ? internalName.substring(lastSlash + 1) : internalName;
+	private static boolean overridesAny(Set<String> instanceMethods, List<MethodNode> interfaceMethods) {
+		for (MethodNode interfaceMethod : interfaceMethods) {
+			if (instanceMethods.contains(interfaceMethod.name + interfaceMethod.desc)) {
+				return true;
+			}
+		}
+		return false;
 	}
 }
@@ -1,9 +1,18 @@
 package example;
 
+import java.io.Closeable;
+import java.io.IOException;
+
 /**
  * Output channel for lint results.
  */
-public interface Reporter {
+public interface Reporter extends Closeable {
 
 	void report(String className, LintResult result);
+
+	/**
+	 * Flush anything the reporter buffers. Called once after the last report.
+	 */
+	@Override
+	default void close() throws IOException {}
 }
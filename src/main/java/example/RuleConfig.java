@@ -0,0 +1,254 @@
+package example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Per-rule enablement and severity, loaded from a properties file:
+ *
+ * <pre>
+ * default.enabled=true
+ * naming.enabled=false
+ * performance.severity=error
+ * naming.enabled@com.acme.api=true
+ * escape-analysis.severity@com.acme.legacy=info
+ * </pre>
+ *
+ * Keys suffixed with {@code @package} override the rule for that package and
+ * its subpackages; the longest matching package wins. Enabled values must be
+ * {@code true} or {@code false}, and rule ids are checked against the known
+ * rules with {@link #checkRuleIds(Collection)}.
+ */
+public class RuleConfig {
+
+	public static final String DEFAULT_FILE = "lint-rules.properties";
+
+	private static final String ENABLED = "enabled";
+	private static final String SEVERITY = "severity";
+	private static final String DEFAULT_ENABLED = "default." + ENABLED;
+
+	private final String source;
+	private final boolean enabledByDefault;
+	private final Map<String, RuleSettings> settings = new HashMap<>();
+
+	private RuleConfig(String source, boolean enabledByDefault) {
+		this.source = source;
+		this.enabledByDefault = enabledByDefault;
+	}
+
+	/**
+	 * Every rule enabled at its default severity.
+	 */
+	public static RuleConfig defaults() {
+		return new RuleConfig("default rule config", true);
+	}
+
+	/**
+	 * Load from {@code path}, or from {@link #DEFAULT_FILE} in the working
+	 * directory when {@code path} is null, falling back to {@link #defaults()}.
+	 */
+	public static RuleConfig load(String path) throws IOException {
+		Path file = Paths.get(path == null ? DEFAULT_FILE : path);
+		if (path == null && !Files.exists(file)) {
+			return defaults();
+		}
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		}
+		return fromProperties(properties, file.toString());
+	}
+
+	public static RuleConfig fromProperties(Properties properties) {
+		return fromProperties(properties, "rule config");
+	}
+
+	/**
+	 * @param source file name or other description used in error messages
+	 */
+	public static RuleConfig fromProperties(Properties properties, String source) {
+		RuleConfig config = new RuleConfig(source,
+				parseEnabled(source, DEFAULT_ENABLED, properties.getProperty(DEFAULT_ENABLED, "true").trim()));
+		for (String key : properties.stringPropertyNames()) {
+			if (key.startsWith("default.")) {
+				if (!DEFAULT_ENABLED.equals(key)) {
+					throw new IllegalArgumentException(source + ": Unknown key '" + key + "'");
+				}
+				continue;
+			}
+			config.apply(key, properties.getProperty(key).trim());
+		}
+		return config;
+	}
+
+	/**
+	 * Reject settings for rules that no provider knows, which would otherwise
+	 * be ignored without a word.
+	 */
+	public void checkRuleIds(Collection<String> knownRuleIds) {
+		for (Map.Entry<String, RuleSettings> entry : settings.entrySet()) {
+			if (!knownRuleIds.contains(entry.getKey())) {
+				throw new IllegalArgumentException(source + ": Unknown rule id '" + entry.getKey() + "' in key '"
+						+ entry.getValue().firstKey + "'");
+			}
+		}
+	}
+
+	private static boolean parseEnabled(String source, String key, String value) {
+		if ("true".equalsIgnoreCase(value)) {
+			return true;
+		}
+		if ("false".equalsIgnoreCase(value)) {
+			return false;
+		}
+		throw new IllegalArgumentException(
+				source + ": Value of '" + key + "' must be true or false, not '" + value + "'");
+	}
+
+	private void apply(String fullKey, String value) {
+		String key = fullKey;
+		String packageName = null;
+		int at = key.indexOf('@');
+		if (at >= 0) {
+			packageName = key.substring(at + 1);
+			key = key.substring(0, at);
+		}
+		int dot = key.lastIndexOf('.');
+		if (dot <= 0) {
+			throw new IllegalArgumentException(source + ": Rule config key must be <rule>.<setting>: " + fullKey);
+		}
+		String ruleId = key.substring(0, dot);
+		String setting = key.substring(dot + 1);
+
+		RuleSettings rule = settings.computeIfAbsent(ruleId, id -> new RuleSettings(fullKey));
+		Scope target = packageName == null ? rule.global : rule.forPackage(packageName);
+		if (ENABLED.equals(setting)) {
+			target.enabled = parseEnabled(source, fullKey, value);
+		} else if (SEVERITY.equals(setting)) {
+			try {
+				target.severity = Severity.parse(value);
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException(source + ": " + e.getMessage() + " in '" + fullKey + "'", e);
+			}
+		} else {
+			throw new IllegalArgumentException(source + ": Unknown rule setting '" + setting + "' in '" + fullKey + "'");
+		}
+	}
+
+	/**
+	 * Whether the rule is enabled for at least one package, i.e. whether it has
+	 * to be instantiated at all.
+	 */
+	public boolean isEnabledAnywhere(String ruleId) {
+		RuleSettings rule = settings.get(ruleId);
+		if (rule == null) {
+			return enabledByDefault;
+		}
+		if (rule.global.enabled == null ? enabledByDefault : rule.global.enabled) {
+			return true;
+		}
+		for (Scope scope : rule.packages) {
+			if (Boolean.TRUE.equals(scope.enabled)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Whether the rule has per-package settings and therefore needs the class
+	 * name to decide.
+	 */
+	public boolean hasPackageOverrides(String ruleId) {
+		RuleSettings rule = settings.get(ruleId);
+		return rule != null && !rule.packages.isEmpty();
+	}
+
+	/**
+	 * Whether the rule applies to the class with the given internal name.
+	 */
+	public boolean isEnabled(String ruleId, String internalClassName) {
+		RuleSettings rule = settings.get(ruleId);
+		if (rule == null) {
+			return enabledByDefault;
+		}
+		Boolean enabled = rule.resolveEnabled(internalClassName);
+		return enabled == null ? enabledByDefault : enabled;
+	}
+
+	public Severity severity(String ruleId, String internalClassName) {
+		RuleSettings rule = settings.get(ruleId);
+		if (rule == null) {
+			return Severity.WARNING;
+		}
+		Severity severity = rule.resolveSeverity(internalClassName);
+		return severity == null ? Severity.WARNING : severity;
+	}
+
+	private static final class Scope {
+		private final String packagePrefix;
+		private Boolean enabled;
+		private Severity severity;
+
+		private Scope(String packagePrefix) {
+			this.packagePrefix = packagePrefix;
+		}
+
+		private boolean matches(String internalClassName) {
+			return internalClassName != null && internalClassName.startsWith(packagePrefix);
+		}
+	}
+
+	private static final class RuleSettings {
+		// The first key naming the rule, for error messages.
+		private final String firstKey;
+		private final Scope global = new Scope("");
+		// Kept sorted longest prefix first so the first match is the most specific.
+		private final List<Scope> packages = new ArrayList<>();
+
+		private RuleSettings(String firstKey) {
+			this.firstKey = firstKey;
+		}
+
+		private Scope forPackage(String packageName) {
+			String prefix = packageName.replace('.', '/') + "/";
+			for (Scope scope : packages) {
+				if (scope.packagePrefix.equals(prefix)) {
+					return scope;
+				}
+			}
+			Scope scope = new Scope(prefix);
+			packages.add(scope);
+			packages.sort((a, b) -> b.packagePrefix.length() - a.packagePrefix.length());
+			return scope;
+		}
+
+		private Boolean resolveEnabled(String internalClassName) {
+			for (Scope scope : packages) {
+				if (scope.enabled != null && scope.matches(internalClassName)) {
+					return scope.enabled;
+				}
+			}
+			return global.enabled;
+		}
+
+		private Severity resolveSeverity(String internalClassName) {
+			for (Scope scope : packages) {
+				if (scope.severity != null && scope.matches(internalClassName)) {
+					return scope.severity;
+				}
+			}
+			return global.severity;
+		}
+	}
+}
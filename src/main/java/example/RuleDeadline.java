@@ -0,0 +1,34 @@
+package example;
+
+/**
+ * Per-thread time budget for the rule currently running. Long-running rules
+ * call {@link #checkpoint()} from their loops; once the budget set by the
+ * {@link RuleWatchdog} has passed, the checkpoint throws
+ * {@link RuleTimeoutException} and the rule's check is abandoned.
+ */
+public final class RuleDeadline {
+
+	private static final long NONE = Long.MAX_VALUE;
+
+	private static final ThreadLocal<long[]> DEADLINE = ThreadLocal.withInitial(() -> new long[] { NONE });
+
+	private RuleDeadline() {}
+
+	static void start(long budgetNanos) {
+		DEADLINE.get()[0] = budgetNanos <= 0 ? NONE : System.nanoTime() + budgetNanos;
+	}
+
+	static void clear() {
+		DEADLINE.get()[0] = NONE;
+	}
+
+	/**
+	 * Throw if the current rule has run past its budget.
+	 */
+	public static void checkpoint() {
+		long deadline = DEADLINE.get()[0];
+		if (deadline != NONE && System.nanoTime() > deadline) {
+			throw new RuleTimeoutException();
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package example;
+
+import java.util.List;
+
+/**
+ * Service-provider interface for contributing lint rules. Providers are found
+ * through {@link java.util.ServiceLoader} and only asked to create the rules
+ * that are enabled, so disabled rule classes are never loaded.
+ */
+public interface RuleProvider {
+
+	/**
+	 * Ids of the rules this provider can create.
+	 */
+	List<String> ruleIds();
+
+	/**
+	 * Create the rule with the given id, or return {@code null} if unknown.
+	 */
+	LintRule create(String ruleId);
+
+	/**
+	 * Where the rules come from, for error messages.
+	 */
+	default String source() {
+		return getClass().getName();
+	}
+}
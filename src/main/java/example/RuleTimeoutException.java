@@ -0,0 +1,13 @@
+package example;
+
+/**
+ * Thrown by {@link RuleDeadline#checkpoint()} when a rule exceeds its budget.
+ */
+public class RuleTimeoutException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public RuleTimeoutException() {
+		super("Rule time budget exceeded", null, false, false);
+	}
+}
@@ -0,0 +1,120 @@
+package example;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.objectweb.asm.tree.ClassNode;
+
+/**
+ * Runs each rule against a class under a time budget. Rules that poll
+ * {@link RuleDeadline#checkpoint()} are cancelled when they overrun, and the
+ * overrun is reported as a separate {@code watchdog} violation. The watchdog
+ * also keeps the slowest classes seen for an end-of-run summary.
+ */
+public class RuleWatchdog {
+
+	public static final String RULE_ID = "watchdog";
+	static final long DEFAULT_BUDGET_MILLIS = 5_000;
+	static final int SLOWEST_LIMIT = 5;
+
+	private final long budgetNanos;
+	private final long budgetMillis;
+	private final PriorityQueue<Timing> slowest = new PriorityQueue<>(Comparator.comparingLong(t -> t.nanos));
+	private long timeouts;
+
+	public RuleWatchdog() {
+		this(DEFAULT_BUDGET_MILLIS);
+	}
+
+	/**
+	 * @param budgetMillis per-rule, per-class budget; 0 or less disables cancellation
+	 */
+	public RuleWatchdog(long budgetMillis) {
+		this.budgetMillis = budgetMillis;
+		this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+	}
+
+	/**
+	 * Run all rules against the class and collect their violations, plus one
+	 * watchdog violation per rule that was cancelled.
+	 */
+	public LintResult check(List<LintRule> rules, ClassNode classNode) {
+		LintResult result = new LintResult();
+		long classStart = System.nanoTime();
+		String slowestRule = null;
+		long slowestRuleNanos = -1;
+
+		for (LintRule rule : rules) {
+			long start = System.nanoTime();
+			RuleDeadline.start(budgetNanos);
+			try {
+				result.addAll(rule.check(classNode));
+			} catch (RuleTimeoutException e) {
+				timeouts++;
+				result.addAll(List.of(new Violation(Violation.Target.CLASS, TypeNames.simpleName(classNode.name),
+						"Rule '" + rule.id() + "' exceeded its " + budgetMillis
+								+ " ms budget and was cancelled; results for this class are incomplete",
+						RULE_ID, Severity.WARNING)));
+			} finally {
+				RuleDeadline.clear();
+			}
+			long elapsed = System.nanoTime() - start;
+			if (elapsed > slowestRuleNanos) {
+				slowestRuleNanos = elapsed;
+				slowestRule = rule.id();
+			}
+		}
+
+		record(classNode.name, slowestRule, System.nanoTime() - classStart);
+		return result;
+	}
+
+	public long getTimeouts() {
+		return timeouts;
+	}
+
+	/**
+	 * Print the slowest classes, slowest first.
+	 */
+	public void printSummary(PrintStream out) {
+		printSummary(out, "Slowest classes");
+	}
+
+	public void printSummary(PrintStream out, String title) {
+		if (slowest.isEmpty()) {
+			return;
+		}
+		List<Timing> timings = new ArrayList<>(slowest);
+		timings.sort(Comparator.comparingLong((Timing t) -> t.nanos).reversed());
+		out.println(title + (timeouts > 0 ? " (" + timeouts + " rule timeouts)" : "") + ":");
+		for (Timing timing : timings) {
+			out.printf("  %8.1f ms  %s (slowest rule: %s)%n", timing.nanos / 1e6,
+					TypeNames.objectClassName(timing.className), timing.slowestRule);
+		}
+	}
+
+	private void record(String className, String slowestRule, long nanos) {
+		if (slowest.size() < SLOWEST_LIMIT) {
+			slowest.add(new Timing(className, slowestRule, nanos));
+		} else if (slowest.peek().nanos < nanos) {
+			slowest.poll();
+			slowest.add(new Timing(className, slowestRule, nanos));
+		}
+	}
+
+	private static final class Timing {
+		private final String className;
+		private final String slowestRule;
+		private final long nanos;
+
+		private Timing(String className, String slowestRule, long nanos) {
+			this.className = className;
+			this.slowestRule = slowestRule;
+			this.nanos = nanos;
+		}
+	}
+}
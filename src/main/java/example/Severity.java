@@ -0,0 +1,20 @@
+package example;
+
+import java.util.Locale;
+
+/**
+ * How serious a violation is; configurable per rule.
+ */
+public enum Severity {
+	ERROR,
+	WARNING,
+	INFO;
+
+	public static Severity parse(String value) {
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown severity '" + value + "'", e);
+		}
+	}
+}
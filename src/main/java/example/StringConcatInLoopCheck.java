@@ -0,0 +1,93 @@
+package example;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+/**
+ * Flags a string accumulated by concatenation ({@code +=}, {@code s = s + x}
+ * or {@code s = s.concat(x)}) inside a loop, which copies the accumulated
+ * string on every iteration. Only concatenations that read a local and store
+ * the result back into the same local count; one-off concatenations, such as
+ * an exception message, are left alone.
+ */
+public class StringConcatInLoopCheck implements InstructionCheck {
+
+	private static final String CONCAT_FACTORY = "java/lang/invoke/StringConcatFactory";
+
+	/**
+	 * How far back from the concatenation to look for the load of the local.
+	 */
+	private static final int MAX_OPERAND_INSNS = 32;
+
+	private boolean found;
+
+	@Override
+	public void beginMethod(MethodScan scan) {
+		found = false;
+	}
+
+	@Override
+	public void visitInsn(MethodScan scan, AbstractInsnNode insn, int index) {
+		if (found) {
+			return;
+		}
+		if (isConcat(insn) && scan.inLoop(index) && accumulates(insn)) {
+			found = true;
+		}
+	}
+
+	@Override
+	public void endMethod(MethodScan scan) {
+		if (found) {
+			scan.report("String accumulated by concatenation inside a loop; use a StringBuilder created outside the loop");
+		}
+	}
+
+	/**
+	 * Whether the result is stored straight into a local that the same
+	 * expression loaded, i.e. {@code ALOAD n ... concat ASTORE n}. The backward
+	 * search stops at the start of the statement: a line number, a store, a
+	 * pop, a jump or a frame.
+	 */
+	private static boolean accumulates(AbstractInsnNode concat) {
+		AbstractInsnNode next = concat.getNext();
+		while (next != null && next.getOpcode() < 0) {
+			next = next.getNext();
+		}
+		if (next == null || next.getOpcode() != Opcodes.ASTORE) {
+			return false;
+		}
+		int local = ((VarInsnNode) next).var;
+		AbstractInsnNode previous = concat.getPrevious();
+		for (int i = 0; previous != null && i < MAX_OPERAND_INSNS; previous = previous.getPrevious(), i++) {
+			int type = previous.getType();
+			if (type == AbstractInsnNode.LINE || type == AbstractInsnNode.FRAME
+					|| type == AbstractInsnNode.JUMP_INSN) {
+				return false;
+			}
+			int opcode = previous.getOpcode();
+			if (opcode == Opcodes.ALOAD && ((VarInsnNode) previous).var == local) {
+				return true;
+			}
+			if ((opcode >= Opcodes.ISTORE && opcode <= Opcodes.ASTORE) || opcode == Opcodes.POP
+					|| opcode == Opcodes.POP2) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	private boolean isConcat(AbstractInsnNode insn) {
+		if (insn.getOpcode() == Opcodes.INVOKEDYNAMIC) {
+			return CONCAT_FACTORY.equals(((InvokeDynamicInsnNode) insn).bsm.getOwner());
+		}
+		if (insn.getOpcode() == Opcodes.INVOKEVIRTUAL) {
+			MethodInsnNode call = (MethodInsnNode) insn;
+			return "java/lang/String".equals(call.owner) && "concat".equals(call.name);
+		}
+		return false;
+	}
+}
@@ -0,0 +1,43 @@
+package example;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+
+/**
+ * Flags trivial {@code synchronized} getters. They are typically the hottest
+ * methods on a shared object and the monitor serializes every reader.
+ */
+public class SynchronizedGetterCheck implements InstructionCheck {
+
+	private static final int MAX_GETTER_OPCODES = 8;
+
+	private boolean candidate;
+	private int opcodes;
+
+	@Override
+	public void beginMethod(MethodScan scan) {
+		candidate = (scan.getMethod().access & Opcodes.ACC_SYNCHRONIZED) != 0
+				&& isGetterName(scan.getMethod().name)
+				&& scan.getMethod().desc.startsWith("()");
+		opcodes = 0;
+	}
+
+	@Override
+	public void visitInsn(MethodScan scan, AbstractInsnNode insn, int index) {
+		if (candidate && insn.getOpcode() >= 0) {
+			opcodes++;
+		}
+	}
+
+	@Override
+	public void endMethod(MethodScan scan) {
+		if (candidate && opcodes <= MAX_GETTER_OPCODES) {
+			scan.report("Synchronized getter contends on the object monitor; use a volatile field or immutable state");
+		}
+	}
+
+	private boolean isGetterName(String name) {
+		return (name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.charAt(3)))
+				|| (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2)));
+	}
+}
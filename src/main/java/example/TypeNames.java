@@ -0,0 +1,130 @@
+package example;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.objectweb.asm.Type;
+
+/**
+ * Shared cache of decoded type names. The same descriptors and internal names
+ * show up for almost every class, so the rules, the UML generator and the
+ * advice summary decode each one once and reuse the result. Each cache is
+ * bounded and simply starts over when full; entries are cheap to recompute.
+ */
+public final class TypeNames {
+
+	static final int MAX_ENTRIES = 32_768;
+
+	private static final Cache<String> CLASS_NAMES = new Cache<>();
+	private static final Cache<String> OBJECT_CLASS_NAMES = new Cache<>();
+	private static final Cache<String> SIMPLE_NAMES = new Cache<>();
+	private static final Cache<String> NESTED_SIMPLE_NAMES = new Cache<>();
+	private static final Cache<MethodTypeNames> METHOD_TYPES = new Cache<>();
+
+	private TypeNames() {}
+
+	/**
+	 * Readable name for a field or type descriptor, e.g. {@code Ljava/lang/String;}
+	 * to {@code java.lang.String} and {@code [I} to {@code int[]}.
+	 */
+	public static String className(String descriptor) {
+		return CLASS_NAMES.get(descriptor, desc -> Type.getType(desc).getClassName());
+	}
+
+	/**
+	 * Readable name for an internal name, e.g. {@code java/util/Map$Entry} to
+	 * {@code java.util.Map$Entry}.
+	 */
+	public static String objectClassName(String internalName) {
+		return OBJECT_CLASS_NAMES.get(internalName, name -> Type.getObjectType(name).getClassName());
+	}
+
+	/**
+	 * Internal name without its package, e.g. {@code java/util/Map$Entry} to
+	 * {@code Map$Entry}.
+	 */
+	public static String simpleName(String internalName) {
+		return SIMPLE_NAMES.get(internalName, name -> {
+			int lastSlash = name.lastIndexOf('/');
+			return lastSlash >= 0 ? name.substring(lastSlash + 1) : name;
+		});
+	}
+
+	/**
+	 * Internal name without its package or enclosing classes, e.g.
+	 * {@code java/util/Map$Entry} to {@code Entry}.
+	 */
+	public static String nestedSimpleName(String internalName) {
+		if (internalName == null || internalName.isEmpty()) {
+			return "";
+		}
+		return NESTED_SIMPLE_NAMES.get(internalName, name -> {
+			int lastSeparator = Math.max(name.lastIndexOf('/'), name.lastIndexOf('$'));
+			return lastSeparator >= 0 ? name.substring(lastSeparator + 1) : name;
+		});
+	}
+
+	/**
+	 * Decoded argument and return type names for a method descriptor.
+	 */
+	public static MethodTypeNames method(String methodDescriptor) {
+		return METHOD_TYPES.get(methodDescriptor, MethodTypeNames::new);
+	}
+
+	/**
+	 * Drop every cached entry, e.g. when the heap is under pressure.
+	 */
+	public static void clear() {
+		CLASS_NAMES.map.clear();
+		OBJECT_CLASS_NAMES.map.clear();
+		SIMPLE_NAMES.map.clear();
+		NESTED_SIMPLE_NAMES.map.clear();
+		METHOD_TYPES.map.clear();
+	}
+
+	/**
+	 * Pre-decoded names for one method descriptor.
+	 */
+	public static final class MethodTypeNames {
+
+		private final List<String> argumentTypes;
+		private final String returnType;
+
+		private MethodTypeNames(String methodDescriptor) {
+			Type[] arguments = Type.getArgumentTypes(methodDescriptor);
+			String[] names = new String[arguments.length];
+			for (int i = 0; i < arguments.length; i++) {
+				names[i] = className(arguments[i].getDescriptor());
+			}
+			this.argumentTypes = Collections.unmodifiableList(Arrays.asList(names));
+			this.returnType = className(Type.getReturnType(methodDescriptor).getDescriptor());
+		}
+
+		public List<String> argumentTypes() {
+			return argumentTypes;
+		}
+
+		public String returnType() {
+			return returnType;
+		}
+	}
+
+	private static final class Cache<V> {
+		private final ConcurrentHashMap<String, V> map = new ConcurrentHashMap<>();
+
+		private V get(String key, Function<String, V> decoder) {
+			V value = map.get(key);
+			if (value == null) {
+				value = decoder.apply(key);
+				if (map.size() >= MAX_ENTRIES) {
+					map.clear();
+				}
+				map.putIfAbsent(key, value);
+			}
+			return value;
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package example;
+
+import java.util.Set;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+
+/**
+ * Flags methods that open raw file or byte-to-char streams without wrapping
+ * them in a buffered stream, which turns every small read or write into a
+ * system call.
+ */
+public class UnbufferedStreamCheck implements InstructionCheck {
+
+	private static final Set<String> RAW_STREAMS = Set.of(
+			"java/io/FileInputStream", "java/io/FileOutputStream",
+			"java/io/FileReader", "java/io/FileWriter",
+			"java/io/InputStreamReader", "java/io/OutputStreamWriter");
+
+	private static final Set<String> BUFFERED_STREAMS = Set.of(
+			"java/io/BufferedInputStream", "java/io/BufferedOutputStream",
+			"java/io/BufferedReader", "java/io/BufferedWriter");
+
+	private String rawStream;
+	private boolean buffered;
+
+	@Override
+	public void beginMethod(MethodScan scan) {
+		rawStream = null;
+		buffered = false;
+	}
+
+	@Override
+	public void visitInsn(MethodScan scan, AbstractInsnNode insn, int index) {
+		int opcode = insn.getOpcode();
+		if (opcode == Opcodes.NEW) {
+			String type = ((TypeInsnNode) insn).desc;
+			if (BUFFERED_STREAMS.contains(type)) {
+				buffered = true;
+			} else if (rawStream == null && RAW_STREAMS.contains(type)) {
+				rawStream = TypeNames.simpleName(type);
+			}
+		} else if (opcode == Opcodes.INVOKESTATIC) {
+			MethodInsnNode call = (MethodInsnNode) insn;
+			if ("java/nio/file/Files".equals(call.owner)) {
+				if (call.name.startsWith("newBuffered")) {
+					buffered = true;
+				} else if (rawStream == null
+						&& ("newInputStream".equals(call.name) || "newOutputStream".equals(call.name))) {
+					rawStream = "Files." + call.name;
+				}
+			}
+		}
+	}
+
+	@Override
+	public void endMethod(MethodScan scan) {
+		if (rawStream != null && !buffered) {
+			scan.report(rawStream + " is used without a buffered wrapper");
+		}
+	}
+}
@@ -1,24 +1,33 @@
 package example;
 
 /**
- * Represents a lint finding for a class, method, or field.
+ * Represents a lint finding for a class, method, field, or package.
  */
 public class Violation {
 
 	public enum Target {
 		CLASS,
 		FIELD,
-		METHOD
+		METHOD,
+		PACKAGE
 	}
 
 	private final Target target;
 	private final String name;
 	private final String message;
+	private final String ruleId;
+	private final Severity severity;
 
 	public Violation(Target target, String name, String message) {
+		this(target, name, message, null, Severity.WARNING);
+	}
+
+	public Violation(Target target, String name, String message, String ruleId, Severity severity) {
 		this.target = target;
 		this.name = name;
 		this.message = message;
+		this.ruleId = ruleId;
+		this.severity = severity == null ? Severity.WARNING : severity;
 	}
 
 	public Target getTarget() {
@@ -33,6 +42,22 @@ public class Violation {
 		return message;
 	}
 
+	/**
+	 * Id of the rule that produced this violation, or {@code null} when the
+	 * rule was not run through a configured registry.
+	 */
+	public String getRuleId() {
+		return ruleId;
+	}
+
+	public Severity getSeverity() {
+		return severity;
+	}
+
+	public Violation withRule(String ruleId, Severity severity) {
+		return new Violation(target, name, message, ruleId, severity);
+	}
+
 	@Override
 	public String toString() {
 		return target + " '" + name + "': " + message;
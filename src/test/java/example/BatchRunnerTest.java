@@ -0,0 +1,51 @@
+package example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class BatchRunnerTest {
+
+	static class First {}
+
+	static class Second {}
+
+	static class Third {}
+
+	private static final String FIRST = First.class.getName();
+	private static final String SECOND = Second.class.getName();
+	private static final String THIRD = Third.class.getName();
+
+	@Test
+	public void eachLineKeepsItsOwnTargetOrder() throws IOException {
+		Path dir = Files.createTempDirectory("batch");
+		Path forward = dir.resolve("forward.puml");
+		Path backward = dir.resolve("backward.puml");
+		Path batch = dir.resolve("batch.txt");
+		Files.write(batch, List.of(
+				forward + " --uml " + FIRST + " " + SECOND + " " + THIRD,
+				backward + " --uml " + THIRD + " " + SECOND + " " + FIRST), StandardCharsets.UTF_8);
+
+		assertEquals(0, BatchRunner.run(batch.toString(), Map.of()));
+
+		assertInOrder(Files.readString(forward), "First", "Second", "Third");
+		assertInOrder(Files.readString(backward), "Third", "Second", "First");
+	}
+
+	private static void assertInOrder(String output, String... classNames) {
+		int from = 0;
+		for (String className : classNames) {
+			int at = output.indexOf("class BatchRunnerTest$" + className + " ", from);
+			assertTrue(at >= 0, className + " missing or out of order in:\n" + output);
+			from = at;
+		}
+	}
+}
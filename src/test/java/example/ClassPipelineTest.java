@@ -0,0 +1,41 @@
+package example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class ClassPipelineTest {
+
+	@Test
+	public void readsTargetsInOrder() throws IOException {
+		byte[] bytes = LintApplication.readClassBytes(ClassPipelineTest.class.getName());
+		try (ClassPipeline pipeline = new ClassPipeline(Arrays.asList("a", "b"), 1 << 20, target -> bytes)) {
+			assertEquals("a", pipeline.next().target());
+			assertEquals("b", pipeline.next().target());
+			assertNull(pipeline.next());
+		}
+	}
+
+	@Test
+	public void readerErrorIsRethrownInsteadOfHanging() {
+		try (ClassPipeline pipeline = new ClassPipeline(Arrays.asList("a"), 1 << 20, target -> {
+			throw new StackOverflowError();
+		})) {
+			assertThrows(StackOverflowError.class, pipeline::next);
+		}
+	}
+
+	@Test
+	public void readerIOExceptionIsRethrown() {
+		try (ClassPipeline pipeline = new ClassPipeline(Arrays.asList("a"), 1 << 20, target -> {
+			throw new IOException("Class not found: " + target);
+		})) {
+			assertThrows(IOException.class, pipeline::next);
+		}
+	}
+}
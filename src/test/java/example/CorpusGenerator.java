@@ -0,0 +1,246 @@
+package example;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Emits synthetic class files with ASM for scale and soak testing: a pool of
+ * interfaces plus N classes with tunable fields and methods per class,
+ * interface fan-out, inheritance depth, and deliberate naming, equals/hashCode
+ * and redundant-interface violations. Output goes to a directory, or to a jar
+ * when the path ends in {@code .jar}.
+ *
+ * <pre>
+ * java example.CorpusGenerator &lt;out-dir|out.jar&gt; [classes] [members] [fanOut] [depth]
+ * </pre>
+ */
+public class CorpusGenerator {
+
+	static final String PACKAGE = "corpus/";
+	static final int CLASSES_PER_PACKAGE = 1_000;
+
+	private int classes = 1_000;
+	private int membersPerClass = 10;
+	private int interfaceFanOut = 2;
+	private int inheritanceDepth = 3;
+	private int namingViolationEvery = 10;
+	private int equalsViolationEvery = 20;
+	private int redundantInterfaceEvery = 25;
+
+	public CorpusGenerator classes(int classes) {
+		this.classes = classes;
+		return this;
+	}
+
+	/**
+	 * Number of fields and of methods generated per class.
+	 */
+	public CorpusGenerator membersPerClass(int membersPerClass) {
+		this.membersPerClass = membersPerClass;
+		return this;
+	}
+
+	public CorpusGenerator interfaceFanOut(int interfaceFanOut) {
+		this.interfaceFanOut = interfaceFanOut;
+		return this;
+	}
+
+	/**
+	 * Length of each superclass chain; 1 means every class extends Object.
+	 */
+	public CorpusGenerator inheritanceDepth(int inheritanceDepth) {
+		this.inheritanceDepth = Math.max(1, inheritanceDepth);
+		return this;
+	}
+
+	/**
+	 * Every n-th class gets a badly named field and method; 0 disables.
+	 */
+	public CorpusGenerator namingViolationEvery(int namingViolationEvery) {
+		this.namingViolationEvery = namingViolationEvery;
+		return this;
+	}
+
+	/**
+	 * Every n-th class defines equals without hashCode; 0 disables.
+	 */
+	public CorpusGenerator equalsViolationEvery(int equalsViolationEvery) {
+		this.equalsViolationEvery = equalsViolationEvery;
+		return this;
+	}
+
+	/**
+	 * Every n-th class skips the method of its first interface; 0 disables.
+	 * The interfaces must be on the linter's classpath for this to be seen.
+	 */
+	public CorpusGenerator redundantInterfaceEvery(int redundantInterfaceEvery) {
+		this.redundantInterfaceEvery = redundantInterfaceEvery;
+		return this;
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.err.println("Usage: CorpusGenerator <out-dir|out.jar> [classes] [members] [fanOut] [depth]");
+			System.exit(2);
+		}
+		CorpusGenerator generator = new CorpusGenerator();
+		if (args.length > 1) {
+			generator.classes(Integer.parseInt(args[1]));
+		}
+		if (args.length > 2) {
+			generator.membersPerClass(Integer.parseInt(args[2]));
+		}
+		if (args.length > 3) {
+			generator.interfaceFanOut(Integer.parseInt(args[3]));
+		}
+		if (args.length > 4) {
+			generator.inheritanceDepth(Integer.parseInt(args[4]));
+		}
+		generator.generate(Paths.get(args[0]));
+	}
+
+	/**
+	 * Write the corpus to {@code output} and return the number of class files
+	 * written, interfaces included.
+	 */
+	public int generate(Path output) throws IOException {
+		if (output.toString().endsWith(".jar")) {
+			Path parent = output.toAbsolutePath().getParent();
+			Files.createDirectories(parent);
+			try (JarOutputStream jar = new JarOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+				return generate((name, bytes) -> {
+					jar.putNextEntry(new JarEntry(name + ".class"));
+					jar.write(bytes);
+					jar.closeEntry();
+				});
+			}
+		}
+		return generate((name, bytes) -> {
+			Path file = output.resolve(name + ".class");
+			Files.createDirectories(file.getParent());
+			try (OutputStream out = Files.newOutputStream(file)) {
+				out.write(bytes);
+			}
+		});
+	}
+
+	private int generate(ClassSink sink) throws IOException {
+		int interfaces = Math.max(1, interfaceFanOut * 4);
+		if (interfaceFanOut > 0) {
+			for (int i = 0; i < interfaces; i++) {
+				sink.accept(interfaceName(i), generateInterface(i));
+			}
+		}
+		for (int i = 0; i < classes; i++) {
+			sink.accept(className(i), generateClass(i, interfaces));
+		}
+		return classes + (interfaceFanOut > 0 ? interfaces : 0);
+	}
+
+	static String className(int index) {
+		return PACKAGE + "p" + (index / CLASSES_PER_PACKAGE) + "/Generated" + index;
+	}
+
+	static String interfaceName(int index) {
+		return PACKAGE + "api/Contract" + index;
+	}
+
+	private byte[] generateInterface(int index) {
+		ClassWriter cw = new ClassWriter(0);
+		cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT | Opcodes.ACC_INTERFACE,
+				interfaceName(index), null, "java/lang/Object", null);
+		cw.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "contract" + index, "()I", null, null)
+				.visitEnd();
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private byte[] generateClass(int index, int interfaces) {
+		String name = className(index);
+		String superName = index % inheritanceDepth == 0 ? "java/lang/Object" : className(index - 1);
+		String[] implemented = new String[interfaceFanOut];
+		for (int k = 0; k < interfaceFanOut; k++) {
+			implemented[k] = interfaceName((index + k) % interfaces);
+		}
+
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+		cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null, superName, implemented);
+		cw.visitSource("Generated" + index + ".java", null);
+
+		MethodVisitor init = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		init.visitCode();
+		init.visitVarInsn(Opcodes.ALOAD, 0);
+		init.visitMethodInsn(Opcodes.INVOKESPECIAL, superName, "<init>", "()V", false);
+		init.visitInsn(Opcodes.RETURN);
+		init.visitMaxs(0, 0);
+		init.visitEnd();
+
+		boolean badNames = namingViolationEvery > 0 && index % namingViolationEvery == 0;
+		for (int m = 0; m < membersPerClass; m++) {
+			String field = (badNames && m == 0 ? "Bad_field" : "value") + m;
+			cw.visitField(Opcodes.ACC_PRIVATE, field, "I", null, null).visitEnd();
+			generateGetter(cw, name, (badNames && m == 0 ? "Get_Value" : "getValue") + m, field);
+		}
+		boolean redundant = redundantInterfaceEvery > 0 && index % redundantInterfaceEvery == 0;
+		for (int k = redundant ? 1 : 0; k < interfaceFanOut; k++) {
+			generateConstant(cw, "contract" + ((index + k) % interfaces));
+		}
+		if (equalsViolationEvery > 0 && index % equalsViolationEvery == 0) {
+			generateIdentityEquals(cw);
+		}
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static void generateGetter(ClassWriter cw, String owner, String method, String field) {
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, method, "()I", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, owner, field, "I");
+		mv.visitInsn(Opcodes.IRETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	private static void generateConstant(ClassWriter cw, String method) {
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, method, "()I", null, null);
+		mv.visitCode();
+		mv.visitInsn(Opcodes.ICONST_1);
+		mv.visitInsn(Opcodes.IRETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	private static void generateIdentityEquals(ClassWriter cw) {
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "equals", "(Ljava/lang/Object;)Z", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		Label notSame = new Label();
+		mv.visitJumpInsn(Opcodes.IF_ACMPNE, notSame);
+		mv.visitInsn(Opcodes.ICONST_1);
+		mv.visitInsn(Opcodes.IRETURN);
+		mv.visitLabel(notSame);
+		mv.visitInsn(Opcodes.ICONST_0);
+		mv.visitInsn(Opcodes.IRETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	@FunctionalInterface
+	private interface ClassSink {
+		void accept(String internalName, byte[] bytes) throws IOException;
+	}
+}
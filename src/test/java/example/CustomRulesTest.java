@@ -0,0 +1,113 @@
+package example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class CustomRulesTest {
+
+	private static final String DTO_CONSTRUCTOR =
+			"dto-constructor: classes named *DTO must have a public no-arg constructor";
+	private static final String CONFIG_FIELDS =
+			"config-fields: fields of classes named *Config that are non-static must be final";
+
+	public static class OrderDTO {
+		public OrderDTO() {}
+	}
+
+	public static class HiddenDTO {
+		private HiddenDTO() {}
+	}
+
+	static class ServerConfig {
+		static int instances;
+		final String host = "localhost";
+		int port;
+	}
+
+	@Test
+	public void dtoWithPublicNoArgConstructorPasses() throws IOException {
+		assertTrue(check(DTO_CONSTRUCTOR, "dto-constructor", OrderDTO.class).isEmpty());
+	}
+
+	@Test
+	public void dtoWithoutPublicNoArgConstructorIsReported() throws IOException {
+		List<Violation> violations = check(DTO_CONSTRUCTOR, "dto-constructor", HiddenDTO.class);
+		assertEquals(1, violations.size());
+		assertEquals("HiddenDTO", violations.get(0).getName());
+		assertEquals("classes named *DTO must have a public no-arg constructor", violations.get(0).getMessage());
+	}
+
+	@Test
+	public void dtoRuleIgnoresOtherClasses() throws IOException {
+		assertTrue(check(DTO_CONSTRUCTOR, "dto-constructor", ServerConfig.class).isEmpty());
+	}
+
+	@Test
+	public void nonFinalInstanceFieldOfConfigIsReported() throws IOException {
+		List<Violation> violations = check(CONFIG_FIELDS, "config-fields", ServerConfig.class);
+		assertEquals(1, violations.size());
+		assertTrue(violations.get(0).getName().endsWith("port"), violations.get(0).getName());
+	}
+
+	@Test
+	public void lineWithoutIdIsRejected() {
+		assertError("rules.txt:1: Expected '<id>: <rule>'", "classes must be public");
+	}
+
+	@Test
+	public void unknownSubjectIsRejected() {
+		assertError("rules.txt:1: Unknown subject 'widgets'", "x: widgets must be public");
+	}
+
+	@Test
+	public void unknownModifierIsRejected() {
+		assertError("rules.txt:1: Unknown modifier 'shiny'", "x: fields must be shiny");
+	}
+
+	@Test
+	public void missingMustIsRejected() {
+		assertError("rules.txt:1: Expected 'must' at end of rule", "x: classes named *DTO");
+	}
+
+	@Test
+	public void constructorRequirementOnMembersIsRejected() {
+		assertError("rules.txt:1: 'have' only applies to classes", "x: methods must have a constructor");
+	}
+
+	@Test
+	public void trailingWordsAreRejected() {
+		assertError("rules.txt:1: Unexpected 'please'", "x: fields must match [a-z]+ please");
+	}
+
+	@Test
+	public void errorNamesTheLineAfterCommentsAndBlankLines() {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> CustomRules.parse(List.of("# rules", "", "x: widgets must be public"), "rules.txt"));
+		assertTrue(e.getMessage().startsWith("rules.txt:3: "), e.getMessage());
+	}
+
+	@Test
+	public void duplicateIdIsRejected() {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> CustomRules.parse(List.of(DTO_CONSTRUCTOR, DTO_CONSTRUCTOR), "rules.txt"));
+		assertEquals("rules.txt:2: Duplicate rule id 'dto-constructor'", e.getMessage());
+	}
+
+	private static List<Violation> check(String line, String id, Class<?> type) throws IOException {
+		CustomRules rules = CustomRules.parse(List.of(line), "rules.txt");
+		assertEquals(List.of(id), rules.ruleIds());
+		return rules.create(id).check(TestClasses.read(type));
+	}
+
+	private static void assertError(String expected, String line) {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> CustomRules.parse(List.of(line), "rules.txt"));
+		assertEquals(expected, e.getMessage());
+	}
+}
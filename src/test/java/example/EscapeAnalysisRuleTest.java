@@ -0,0 +1,92 @@
+package example;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class EscapeAnalysisRuleTest {
+
+	static class Registry {
+		static Object last;
+	}
+
+	static class PublishesThis {
+		PublishesThis() {
+			Registry.last = this;
+		}
+	}
+
+	static class StartsThread implements Runnable {
+		StartsThread() {
+			new Thread(this).start();
+		}
+
+		@Override
+		public void run() {}
+	}
+
+	static class Point {
+		final int x;
+		final int y;
+
+		Point(int x, int y) {
+			this.x = x;
+			this.y = y;
+		}
+	}
+
+	static class Fixture {
+		void publish() {
+			new PublishesThis();
+		}
+
+		void start() {
+			new StartsThread();
+		}
+
+		int distance(int x, int y) {
+			Point point = new Point(x, y);
+			return Math.abs(point.x) + Math.abs(point.y);
+		}
+
+		String local(String value) {
+			StringBuilder sb = new StringBuilder();
+			sb.append(value).append('!');
+			return sb.toString();
+		}
+	}
+
+	@Test
+	public void constructorStoringThisInStaticFieldIsNotReported() throws IOException {
+		assertFalse(messages(Fixture.class).contains("PublishesThis"));
+	}
+
+	@Test
+	public void constructorStartingThreadIsNotReported() throws IOException {
+		assertFalse(messages(Fixture.class).contains("StartsThread"));
+	}
+
+	@Test
+	public void localValueObjectIsReported() throws IOException {
+		assertTrue(messages(Fixture.class)
+				.contains("Fixture#distance': Allocations of EscapeAnalysisRuleTest$Point never escape"));
+	}
+
+	@Test
+	public void localStringBuilderIsReported() throws IOException {
+		assertTrue(messages(Fixture.class).contains("Allocations of StringBuilder never escape"));
+	}
+
+	private static String messages(Class<?> type) throws IOException {
+		List<Violation> violations = new EscapeAnalysisRule().check(TestClasses.read(type));
+		StringBuilder sb = new StringBuilder();
+		for (Violation violation : violations) {
+			sb.append(violation).append('\n');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,76 @@
+package example;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+/**
+ * Child process of {@link SoakTest}: lints a generated corpus that is also on
+ * this JVM's classpath, so rules can load the corpus interfaces, and prints
+ * one {@code SOAK} result line with throughput, peak heap and violation counts.
+ *
+ * <pre>
+ * java -cp &lt;corpus&gt;:&lt;test classpath&gt; example.SoakRunner &lt;corpus&gt;
+ * </pre>
+ */
+public class SoakRunner {
+
+	static final String RESULT_PREFIX = "SOAK ";
+
+	public static void main(String[] args) throws IOException {
+		CountingReporter reporter = new CountingReporter();
+		LintApplication app = new LintApplication(new ConfiguredRuleRegistry(RuleConfig.defaults()), reporter,
+				null, null);
+		resetPeakHeap();
+		long lintStart = System.nanoTime();
+		app.run(new Command(Mode.LINT, List.of(args[0])));
+		double seconds = (System.nanoTime() - lintStart) / 1e9;
+
+		System.out.println(RESULT_PREFIX + "classes=" + reporter.classes
+				+ " seconds=" + seconds
+				+ " peakHeapMb=" + peakHeapBytes() / (1024 * 1024)
+				+ " violations=" + reporter.violations
+				+ " redundantInterface=" + reporter.redundantInterface);
+	}
+
+	private static void resetPeakHeap() {
+		System.gc();
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+	}
+
+	private static long peakHeapBytes() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peak;
+	}
+
+	private static final class CountingReporter implements Reporter {
+		private long classes;
+		private long violations;
+		private long redundantInterface;
+
+		@Override
+		public void report(String className, LintResult result) {
+			classes++;
+			if (result == null) {
+				return;
+			}
+			for (Violation violation : result.getViolations()) {
+				violations++;
+				if (RedundantInterfaceRule.ID.equals(violation.getRuleId())) {
+					redundantInterface++;
+				}
+			}
+		}
+	}
+}
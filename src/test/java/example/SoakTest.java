@@ -0,0 +1,97 @@
+package example;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Generates a large corpus and lints it in a forked JVM with the corpus on the
+ * classpath, then checks throughput, peak heap and that the generated
+ * redundant-interface violations were found. Excluded from {@code test}; run
+ * with {@code ./gradlew soakTest}. Thresholds come from the system properties
+ * {@code soak.classes}, {@code soak.minClassesPerSecond} and
+ * {@code soak.maxHeapMb}.
+ */
+@Tag("soak")
+public class SoakTest {
+
+	@Test
+	public void lintsLargeCorpusWithinThroughputAndHeapLimits() throws Exception {
+		int classes = Integer.getInteger("soak.classes", 100_000);
+		double minThroughput = Double.parseDouble(System.getProperty("soak.minClassesPerSecond", "2000"));
+		long maxHeapMb = Long.getLong("soak.maxHeapMb", 512);
+		Path workDir = Files.createTempDirectory("lint-soak");
+		try {
+			Path corpus = workDir.resolve("corpus");
+			CorpusGenerator generator = new CorpusGenerator().classes(classes);
+			generator.generate(corpus);
+
+			Map<String, String> result = runLint(corpus);
+			long linted = Long.parseLong(result.get("classes"));
+			double throughput = linted / Double.parseDouble(result.get("seconds"));
+			long peakHeapMb = Long.parseLong(result.get("peakHeapMb"));
+			System.out.printf("Linted %,d classes (%s violations): %,.0f classes/s, peak heap %,d MB%n",
+					linted, result.get("violations"), throughput, peakHeapMb);
+
+			assertTrue(Long.parseLong(result.get("redundantInterface")) > 0,
+					"Corpus interfaces were not visible to redundant-interface");
+			assertTrue(throughput >= minThroughput,
+					String.format("Throughput %,.0f classes/s is below %,.0f", throughput, minThroughput));
+			assertTrue(peakHeapMb <= maxHeapMb,
+					String.format("Peak heap %,d MB is above %,d MB", peakHeapMb, maxHeapMb));
+		} finally {
+			deleteRecursively(workDir);
+		}
+	}
+
+	private static Map<String, String> runLint(Path corpus) throws IOException, InterruptedException {
+		String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+		String classpath = corpus + File.pathSeparator + System.getProperty("java.class.path");
+		Process process = new ProcessBuilder(java, "-Xmx1g", "-cp", classpath, SoakRunner.class.getName(),
+				corpus.toString())
+				.redirectError(ProcessBuilder.Redirect.DISCARD)
+				.start();
+		Map<String, String> result = new HashMap<>();
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				if (line.startsWith(SoakRunner.RESULT_PREFIX)) {
+					for (String pair : line.substring(SoakRunner.RESULT_PREFIX.length()).split(" ")) {
+						int equals = pair.indexOf('=');
+						result.put(pair.substring(0, equals), pair.substring(equals + 1));
+					}
+				}
+			}
+		}
+		if (process.waitFor() != 0 || result.isEmpty()) {
+			fail("Soak lint run failed with exit status " + process.exitValue());
+		}
+		return result;
+	}
+
+	private static void deleteRecursively(Path dir) throws IOException {
+		try (Stream<Path> paths = Files.walk(dir)) {
+			List<Path> all = paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+			for (Path path : all) {
+				Files.delete(path);
+			}
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class StringConcatInLoopCheckTest {
+
+	static class Fixture {
+		String accumulate(List<String> parts) {
+			String result = "";
+			for (String part : parts) {
+				result += part;
+			}
+			return result;
+		}
+
+		String accumulateWithConcat(List<String> parts) {
+			String result = "";
+			for (String part : parts) {
+				result = result.concat(part);
+			}
+			return result;
+		}
+
+		void validate(List<String> parts) {
+			for (String part : parts) {
+				if (part.isEmpty()) {
+					throw new IllegalArgumentException("bad " + part);
+				}
+			}
+		}
+
+		int measure(List<String> parts) {
+			int total = 0;
+			for (String part : parts) {
+				String labelled = "part:" + part;
+				total += labelled.length();
+			}
+			return total;
+		}
+	}
+
+	@Test
+	public void accumulatingConcatenationIsReported() throws IOException {
+		assertEquals(1, reportsFor("accumulate"));
+		assertEquals(1, reportsFor("accumulateWithConcat"));
+	}
+
+	@Test
+	public void exceptionMessageInLoopIsNotReported() throws IOException {
+		assertEquals(0, reportsFor("validate"));
+	}
+
+	@Test
+	public void oneOffConcatenationInLoopIsNotReported() throws IOException {
+		assertEquals(0, reportsFor("measure"));
+	}
+
+	private static long reportsFor(String method) throws IOException {
+		List<Violation> violations = new PerformanceRule().check(TestClasses.read(Fixture.class));
+		return violations.stream()
+				.filter(v -> v.getName().endsWith("#" + method))
+				.filter(v -> v.getMessage().startsWith("String accumulated"))
+				.count();
+	}
+}
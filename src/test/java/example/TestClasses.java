@@ -0,0 +1,24 @@
+package example;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+
+/**
+ * Reads compiled test fixtures into ASM trees.
+ */
+final class TestClasses {
+
+	private TestClasses() {}
+
+	static ClassNode read(Class<?> type) throws IOException {
+		String resource = "/" + type.getName().replace('.', '/') + ".class";
+		try (InputStream in = type.getResourceAsStream(resource)) {
+			ClassNode node = new ClassNode();
+			new ClassReader(in).accept(node, ClassReader.EXPAND_FRAMES);
+			return node;
+		}
+	}
+}